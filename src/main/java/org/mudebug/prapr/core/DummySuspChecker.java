@@ -47,6 +47,11 @@ public class DummySuspChecker implements SuspChecker {
         return true;
     }
 
+    @Override
+    public boolean isHit(String className, int lineNumber) {
+        return true;
+    }
+
     @Override
     public boolean isHit(MutationDetails details) {
         return true;
@@ -0,0 +1,115 @@
+package org.mudebug.prapr.core;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.mutationtest.engine.MutationDetails;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+
+/**
+ * A suspiciousness checker that is written to a file once, and is serialized by reference.
+ * Deserialized instances (e.g. in mutation minions) load the actual checker from the file
+ * upon first use, so that the coverage-derived information is not shipped over the socket
+ * of each and every minion.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class SharedSuspChecker implements SuspChecker {
+    private static final long serialVersionUID = 1L;
+
+    private final File file;
+
+    private transient SuspChecker delegate;
+
+    private SharedSuspChecker(final File file, final SuspChecker delegate) {
+        this.file = file;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Writes <code>suspChecker</code> to <code>file</code>.
+     *
+     * @param suspChecker the checker to be shared
+     * @param file the file to which the checker is written
+     * @return a checker that delegates to <code>suspChecker</code> and is serialized by reference
+     * @throws IOException in case of an I/O error
+     */
+    public static SharedSuspChecker share(final SuspChecker suspChecker, final File file) throws IOException {
+        try (final ObjectOutputStream oos =
+                     new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            oos.writeObject(suspChecker);
+        }
+        return new SharedSuspChecker(file.getAbsoluteFile(), suspChecker);
+    }
+
+    private synchronized SuspChecker delegate() {
+        if (this.delegate == null) {
+            try (final ObjectInputStream ois =
+                         new ObjectInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+                this.delegate = (SuspChecker) ois.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalStateException("unable to load suspiciousness information from "
+                        + this.file.getAbsolutePath(), e);
+            }
+        }
+        return this.delegate;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    @Override
+    public boolean isHit(String className) {
+        return delegate().isHit(className);
+    }
+
+    @Override
+    public boolean isHit(String className, String methodSig) {
+        return delegate().isHit(className, methodSig);
+    }
+
+    @Override
+    public boolean isHit(String className, int lineNumber) {
+        return delegate().isHit(className, lineNumber);
+    }
+
+    @Override
+    public boolean isHit(MutationDetails details) {
+        return delegate().isHit(details);
+    }
+
+    @Deprecated
+    @Override
+    public Collection<String> getAllFailingTests() {
+        return delegate().getAllFailingTests();
+    }
+}
@@ -46,6 +46,16 @@ public interface SuspChecker extends Serializable {
      */
     boolean isHit(String className, String methodSig);
 
+    /**
+     * line-level suspiciousness check to avoid looking for mutations on lines that are not covered by any
+     * failing test. the result is consistent with {@link #isHit(MutationDetails)} for the mutations on the line,
+     * except for the mutations in static initializer code, to which tests are assigned at class level
+     * @param className the name of the class to be checked
+     * @param lineNumber the line number to be checked
+     * @return <code>true</code> iff the line might contain mutations that should be mutated
+     */
+    boolean isHit(String className, int lineNumber);
+
     /**
      * instruction-level suspiciousness check to avoid mutating instructions that are not covered by any failing test
      * @param details the details of the mutation point
@@ -20,15 +20,15 @@ package org.mudebug.prapr.core;
  * #L%
  */
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
-import org.mudebug.prapr.core.commons.TestCaseUtil;
-import org.pitest.coverage.BlockLocation;
-import org.pitest.coverage.TestInfo;
+import org.mudebug.prapr.core.commons.BlockCoverageStore;
+import org.mudebug.prapr.core.commons.TestRegistry;
+import org.pitest.coverage.LineMap;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 
@@ -41,20 +41,28 @@ public final class WeakSuspChecker implements SuspChecker {
 
     private final Collection<String> failingTests;
 
+    private final TestRegistry testRegistry;
+
     private final Map<String, Collection<String>> coverage;
+
+    // class name -> lines covered by a failing test
+    private final Map<String, BitSet> lines;
     
     /**
      * 
-     * @param failingTests The collection of originally failing tests (the names are sanitized)
-     * @param rawCoverageInfo A mapping that indicates the set of test cases covering each location  
+     * @param testRegistry The registry of tests which knows the originally failing tests
+     * @param blockCoverage The set of test cases covering each block
+     * @param lineMap The mapping from blocks to source lines
      */
-    public WeakSuspChecker(final Collection<String> failingTests,
-                           final Collection<Map.Entry<BlockLocation, Set<TestInfo>>> rawCoverageInfo) {
-        this.failingTests = new HashSet<>(failingTests);
+    public WeakSuspChecker(final TestRegistry testRegistry,
+                           final BlockCoverageStore blockCoverage,
+                           final LineMap lineMap) {
+        this.failingTests = new HashSet<>(testRegistry.getFailingTests());
+        this.testRegistry = testRegistry;
         this.coverage = new HashMap<>();
-        for (final Map.Entry<BlockLocation, Set<TestInfo>> entry : rawCoverageInfo) {
-            if (TestCaseUtil.intersect(entry.getValue(), failingTests)) {
-                final Location loc = entry.getKey().getLocation();
+        for (int blockId = 0; blockId < blockCoverage.size(); blockId++) {
+            if (this.testRegistry.intersects(blockCoverage.getTests(blockId))) {
+                final Location loc = blockCoverage.getBlock(blockId).getLocation();
                 final String className = loc.getClassName().asJavaName();
                 Collection<String> methods = this.coverage.get(className);
                 if (methods == null) {
@@ -64,6 +72,16 @@ public final class WeakSuspChecker implements SuspChecker {
                 methods.add(loc.getMethodName().name() + loc.getMethodDesc());
             }
         }
+        this.lines = new HashMap<>();
+        final Map<String, Map<Integer, BitSet>> failingPerLine =
+                blockCoverage.failingTestsPerLine(testRegistry, lineMap);
+        for (final Map.Entry<String, Map<Integer, BitSet>> classEntry : failingPerLine.entrySet()) {
+            final BitSet classLines = new BitSet();
+            for (final Integer line : classEntry.getValue().keySet()) {
+                classLines.set(line);
+            }
+            this.lines.put(classEntry.getKey(), classLines);
+        }
     }
 
     @Override
@@ -80,9 +98,18 @@ public final class WeakSuspChecker implements SuspChecker {
         return false;
     }
 
+    @Override
+    public boolean isHit(String className, int lineNumber) {
+        final BitSet classLines = this.lines.get(className);
+        if (classLines != null) {
+            return classLines.get(lineNumber);
+        }
+        return false;
+    }
+
     @Override
     public boolean isHit(MutationDetails details) {
-        return TestCaseUtil.intersect(details.getTestsInOrder(), this.failingTests);
+        return this.testRegistry.intersects(details.getTestsInOrder());
     }
 
     @Override
@@ -20,17 +20,34 @@ package org.mudebug.prapr.core.analysis;
  * #L%
  */
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.logging.Logger;
 
 import org.pitest.reloc.asm.ClassReader;
 import org.pitest.reloc.asm.ClassVisitor;
@@ -43,98 +60,484 @@ import org.pitest.util.Log;
  * Represents information that some of mutators need to conduct mutation.
  * These information include class hierarchy and the list of factory method.
  *
+ * The information is kept in a compact, read-only binary form: a table of distinct
+ * internal names (sorted by their UTF-8 bytes) followed by int-indexed adjacency
+ * arrays for subclasses and factory methods. Names are decoded only upon lookup,
+ * so the very same bytes can be kept on the heap, or memory-mapped from a file
+ * written by {@link #writeTo(File)}. A memory-mapped instance is serialized by
+ * reference, i.e. only the path to its file is written, and the file is mapped again
+ * upon deserialization. This way mutation minions do not need to receive a copy of
+ * the class hierarchy over their sockets.
+ *
  * @author Ali Ghanbari  (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
 public final class GlobalInfo implements Serializable {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    private static final Logger LOG = Log.getLogger();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int MAGIC = 0x50524749; // PRGI
+
+    private static final int FORMAT_VERSION = 1;
+
+    /*magic, version, and number of strings*/
+    private static final int HEADER_SIZE = 12;
+
+    /*declaring class, name, descriptor, and is-interface flag*/
+    private static final int FACTORY_METHOD_RECORD_SIZE = 4;
+
+    /*maximum number of loose class files scanned by a single fork-join task*/
+    private static final int CLASS_FILES_PER_TASK = 64;
+
+    /*
+     * Layout of the data (all ints are big-endian):
+     *  header          magic, version, n
+     *  string offsets  (n + 1) ints, relative to the beginning of string bytes
+     *  string bytes    UTF-8 encoded names, padded to a multiple of 4
+     *  subclass index  (n + 1) ints, i-th name's subclasses are at [index[i], index[i + 1])
+     *  subclasses      string ids
+     *  factory index   (n + 1) ints, i-th name's factory methods are at [index[i], index[i + 1])
+     *  factory methods FACTORY_METHOD_RECORD_SIZE ints per method
+     */
+    private transient ByteBuffer data;
+
+    private transient int stringCount;
+
+    private transient int stringBytesBase;
+
+    private transient int subclassIndexBase;
+
+    private transient int subclassesBase;
 
-    /*super class internal name -> [subclass internal names]*/
-    private final Map<String, String[]> classHierarchy;
+    private transient int factoryIndexBase;
 
-    /*class internal name -> [(static & public) factory methods]*/
-    private final Map<String, FactoryMethod[]> factoryMethods;
+    private transient int factoryMethodsBase;
 
-    private GlobalInfo() {
-        this.classHierarchy = new HashMap<>();
-        this.factoryMethods = new HashMap<>();
+    /*the file from which data is mapped, or null if data resides on the heap*/
+    private transient File file;
+
+    private GlobalInfo(final ByteBuffer data, final File file) throws IOException {
+        init(data);
+        this.file = file;
+    }
+
+    private void init(final ByteBuffer data) throws IOException {
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unrecognized class hierarchy format");
+        }
+        this.data = data;
+        this.stringCount = data.getInt(8);
+        this.stringBytesBase = HEADER_SIZE + 4 * (this.stringCount + 1);
+        final int stringBytesLength = data.getInt(HEADER_SIZE + 4 * this.stringCount);
+        this.subclassIndexBase = align(this.stringBytesBase + stringBytesLength);
+        this.subclassesBase = this.subclassIndexBase + 4 * (this.stringCount + 1);
+        final int subclassesCount = data.getInt(this.subclassIndexBase + 4 * this.stringCount);
+        this.factoryIndexBase = this.subclassesBase + 4 * subclassesCount;
+        this.factoryMethodsBase = this.factoryIndexBase + 4 * (this.stringCount + 1);
+    }
+
+    private static int align(final int offset) {
+        return (offset + 3) & ~3;
     }
 
     public String[] subclassesOf(final String superclass) {
-        return classHierarchy.get(superclass);
+        final int id = idOf(superclass);
+        if (id < 0) {
+            return null;
+        }
+        final int from = this.data.getInt(this.subclassIndexBase + 4 * id);
+        final int to = this.data.getInt(this.subclassIndexBase + 4 * (id + 1));
+        if (from == to) {
+            return null;
+        }
+        final String[] subclasses = new String[to - from];
+        for (int i = from; i < to; i++) {
+            subclasses[i - from] = stringAt(this.data.getInt(this.subclassesBase + 4 * i));
+        }
+        return subclasses;
     }
 
     public FactoryMethod[] factoryMethodsFor(final String className) {
-        return factoryMethods.get(className);
+        final int id = idOf(className);
+        if (id < 0) {
+            return null;
+        }
+        final int from = this.data.getInt(this.factoryIndexBase + 4 * id);
+        final int to = this.data.getInt(this.factoryIndexBase + 4 * (id + 1));
+        if (from == to) {
+            return null;
+        }
+        final FactoryMethod[] methods = new FactoryMethod[to - from];
+        for (int i = from; i < to; i++) {
+            final int record = this.factoryMethodsBase + 4 * FACTORY_METHOD_RECORD_SIZE * i;
+            methods[i - from] = new FactoryMethod(stringAt(this.data.getInt(record)),
+                    stringAt(this.data.getInt(record + 4)),
+                    stringAt(this.data.getInt(record + 8)),
+                    this.data.getInt(record + 12) != 0);
+        }
+        return methods;
     }
 
-    private String[] addClassName(String[] names, String name) {
-        String[] namesExt = new String[names.length + 1];
-        System.arraycopy(names, 0, namesExt, 0, names.length);
-        namesExt[names.length] = name;
-        return namesExt;
+    private String stringAt(final int id) {
+        final int from = this.data.getInt(HEADER_SIZE + 4 * id);
+        final int to = this.data.getInt(HEADER_SIZE + 4 * (id + 1));
+        final byte[] bytes = new byte[to - from];
+        final ByteBuffer view = this.data.duplicate(); // absolute bulk reads are not available in Java 7
+        view.position(this.stringBytesBase + from);
+        view.get(bytes);
+        return new String(bytes, UTF_8);
     }
 
-    private void addFactoryMethod(final String className, FactoryMethod method) {
-        FactoryMethod[] methods = factoryMethods.get(className);
-        if (methods == null) {
-            methods = new FactoryMethod[0];
+    // binary search over the sorted string table
+    private int idOf(final String name) {
+        if (name == null) {
+            return -1;
         }
-        FactoryMethod[] methodsExt = new FactoryMethod[methods.length + 1];
-        System.arraycopy(methods, 0, methodsExt, 0, methods.length);
-        methodsExt[methods.length] = method;
-        factoryMethods.put(className, methodsExt);
+        final byte[] key = name.getBytes(UTF_8);
+        int low = 0;
+        int high = this.stringCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = compareToStringAt(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
     }
 
-    private void addSubclass(final String superclass, final String subclass) {
-        String[] names = classHierarchy.get(superclass);
-        if (names == null) {
-            names = new String[0];
+    private int compareToStringAt(final int id, final byte[] key) {
+        final int from = this.data.getInt(HEADER_SIZE + 4 * id);
+        final int length = this.data.getInt(HEADER_SIZE + 4 * (id + 1)) - from;
+        final int base = this.stringBytesBase + from;
+        final int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            final int cmp = (this.data.get(base + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
         }
-        names = addClassName(names, subclass);
-        classHierarchy.put(superclass, names);
+        return length - key.length;
+    }
+
+    /**
+     * Writes the binary representation of this object to <code>file</code>.
+     * The file can later be memory-mapped using {@link #map(File)}.
+     *
+     * @param file the output file
+     * @throws IOException in case of an I/O error
+     */
+    public void writeTo(final File file) throws IOException {
+        try (final FileOutputStream fos = new FileOutputStream(file)) {
+            final ByteBuffer view = this.data.duplicate();
+            view.clear();
+            fos.getChannel().write(view);
+        }
+    }
+
+    /**
+     * Memory-maps a file written by {@link #writeTo(File)}.
+     *
+     * @param file the file to be mapped
+     * @return the <code>GlobalInfo</code> backed by the mapped file
+     * @throws IOException in case of an I/O error, or if the file is not in the right format
+     */
+    public static GlobalInfo map(final File file) throws IOException {
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            return new GlobalInfo(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    /**
+     * @return the number of bytes occupied by the binary representation of this object
+     */
+    public int sizeInBytes() {
+        return this.data.limit();
+    }
+
+    /**
+     * @return the file this object is mapped from, or <code>null</code> if it resides on the heap
+     */
+    public File getFile() {
+        return this.file;
     }
 
-    private static void populate(final GlobalInfo ch, final InputStream is) throws Exception {
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(this.file != null);
+        if (this.file != null) {
+            out.writeUTF(this.file.getAbsolutePath());
+        } else {
+            final byte[] bytes = new byte[this.data.limit()];
+            final ByteBuffer view = this.data.duplicate();
+            view.clear();
+            view.get(bytes);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (in.readBoolean()) {
+            final GlobalInfo mapped = map(new File(in.readUTF()));
+            init(mapped.data);
+            this.file = mapped.file;
+        } else {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            init(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    private static GlobalInfo encode(final GlobalInfoFragment fragment) {
+        final Set<String> names = new HashSet<>();
+        for (final Map.Entry<String, List<String>> ent : fragment.classHierarchy.entrySet()) {
+            if (ent.getKey() != null) {
+                names.add(ent.getKey());
+                names.addAll(ent.getValue());
+            }
+        }
+        for (final Map.Entry<String, List<FactoryMethod>> ent : fragment.factoryMethods.entrySet()) {
+            names.add(ent.getKey());
+            for (final FactoryMethod fm : ent.getValue()) {
+                names.add(fm.getDeclaringClassName().asInternalName());
+                names.add(fm.getName());
+                names.add(fm.getDescriptor());
+            }
+        }
+        final List<byte[]> table = new ArrayList<>(names.size());
+        for (final String name : names) {
+            table.add(name.getBytes(UTF_8));
+        }
+        Collections.sort(table, new Comparator<byte[]>() {
+            @Override
+            public int compare(final byte[] lhs, final byte[] rhs) {
+                final int n = Math.min(lhs.length, rhs.length);
+                for (int i = 0; i < n; i++) {
+                    final int cmp = (lhs[i] & 0xFF) - (rhs[i] & 0xFF);
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                }
+                return lhs.length - rhs.length;
+            }
+        });
+        final Map<String, Integer> ids = new HashMap<>(table.size());
+        final String[] strings = new String[table.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String(table.get(i), UTF_8);
+            ids.put(strings[i], i);
+        }
+        try {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final DataOutputStream dos = new DataOutputStream(bos);
+            dos.writeInt(MAGIC);
+            dos.writeInt(FORMAT_VERSION);
+            dos.writeInt(strings.length);
+            int offset = 0;
+            for (final byte[] bytes : table) {
+                dos.writeInt(offset);
+                offset += bytes.length;
+            }
+            dos.writeInt(offset);
+            for (final byte[] bytes : table) {
+                dos.write(bytes);
+            }
+            while (dos.size() % 4 != 0) {
+                dos.writeByte(0);
+            }
+            offset = 0;
+            for (final String name : strings) {
+                dos.writeInt(offset);
+                final List<String> subclasses = fragment.classHierarchy.get(name);
+                offset += subclasses == null ? 0 : subclasses.size();
+            }
+            dos.writeInt(offset);
+            for (final String name : strings) {
+                final List<String> subclasses = fragment.classHierarchy.get(name);
+                if (subclasses != null) {
+                    for (final String subclass : subclasses) {
+                        dos.writeInt(ids.get(subclass));
+                    }
+                }
+            }
+            offset = 0;
+            for (final String name : strings) {
+                dos.writeInt(offset);
+                final List<FactoryMethod> methods = fragment.factoryMethods.get(name);
+                offset += methods == null ? 0 : methods.size();
+            }
+            dos.writeInt(offset);
+            for (final String name : strings) {
+                final List<FactoryMethod> methods = fragment.factoryMethods.get(name);
+                if (methods != null) {
+                    for (final FactoryMethod fm : methods) {
+                        dos.writeInt(ids.get(fm.getDeclaringClassName().asInternalName()));
+                        dos.writeInt(ids.get(fm.getName()));
+                        dos.writeInt(ids.get(fm.getDescriptor()));
+                        dos.writeInt(fm.isOwnerAnInterface() ? 1 : 0);
+                    }
+                }
+            }
+            dos.flush();
+            return new GlobalInfo(ByteBuffer.wrap(bos.toByteArray()), null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // non-reachable: we are writing to memory
+        }
+    }
+
+    private static void populate(final GlobalInfoFragment fragment, final InputStream is) throws Exception {
         final BasicClassVisitor classVisitor = new BasicClassVisitor();
         final ClassReader reader = new ClassReader(is);
-        reader.accept(classVisitor, ClassReader.EXPAND_FRAMES);
+        // we only need class headers and method signatures, so there is no point in parsing method bodies
+        reader.accept(classVisitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
         final String subclass = classVisitor.name;
         for (final String superclass : classVisitor.supers) {
-            ch.addSubclass(superclass, subclass);
+            fragment.addSubclass(superclass, subclass);
         }
         for (final FactoryMethod fm : classVisitor.factoryMethods) {
-            ch.addFactoryMethod(fm.getReturnType().getInternalName(), fm);
+            fragment.addFactoryMethod(fm.getReturnType().getInternalName(), fm);
         }
     }
 
-    public static GlobalInfo construct(final List<File> files) {
-        final GlobalInfo ch = new GlobalInfo();
-        for (final File file : files) {
-            try {
-                if (file.getName().endsWith(".jar")) {
-                    final JarFile jar = new JarFile(file);
+    static GlobalInfoFragment scan(final File file) {
+        final GlobalInfoFragment fragment = new GlobalInfoFragment();
+        try {
+            if (file.getName().endsWith(".jar")) {
+                final long t0 = System.currentTimeMillis();
+                try (final JarFile jar = new JarFile(file)) {
                     for (Enumeration<JarEntry> enums = jar.entries(); enums.hasMoreElements();) {
-                        JarEntry entry = (JarEntry) enums.nextElement();
+                        JarEntry entry = enums.nextElement();
                         if (entry.getName().endsWith(".class")) {
-                            InputStream is = jar.getInputStream(entry);
-                            populate(ch, is);
-                            is.close();
+                            try (final InputStream is = jar.getInputStream(entry)) {
+                                populate(fragment, is);
+                            }
                         }
                     }
-                    jar.close();
-                } else {
-                    InputStream is = new FileInputStream(file);
-                    populate(ch, is);
-                    is.close();
                 }
+                LOG.fine(String.format("Scanned %s in %d ms", file.getAbsolutePath(),
+                        System.currentTimeMillis() - t0));
+            } else {
+                try (final InputStream is = new FileInputStream(file)) {
+                    populate(fragment, is);
+                }
+            }
+        } catch (Exception e) {
+            LOG.info("OOPS! Something went wrong while reading the file " + file.getAbsolutePath());
+            LOG.info("\t" + e.getMessage());
+            fragment.markIncomplete();
+        }
+        return fragment;
+    }
+
+    /**
+     * Constructs class hierarchy and factory method table for the given jar and class files.
+     * The files are scanned in parallel, using as many threads as there are available
+     * processors, and the partial results are merged in the order of <code>files</code>.
+     *
+     * @param files the list of jar files and class files to be scanned
+     * @return the constructed <code>GlobalInfo</code>
+     */
+    public static GlobalInfo construct(final List<File> files) {
+        return construct(files, null);
+    }
 
-            } catch (Exception e) {
-                Log.getLogger().info("OOPS! Something went wrong while reading the file " + file.getAbsolutePath());
-                Log.getLogger().info("\t" + e.getMessage());
+    /**
+     * Same as {@link #construct(List)}, except that the fragments corresponding to
+     * unchanged jar files are reused from <code>cache</code>.
+     *
+     * @param files the list of jar files and class files to be scanned
+     * @param cache the on-disk cache of jar files fragments; <code>null</code> disables caching
+     * @return the constructed <code>GlobalInfo</code>
+     */
+    public static GlobalInfo construct(final List<File> files, final GlobalInfoCache cache) {
+        return construct(files, Runtime.getRuntime().availableProcessors(), cache);
+    }
+
+    public static GlobalInfo construct(final List<File> files, final int parallelism, final GlobalInfoCache cache) {
+        final long t0 = System.currentTimeMillis();
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        final GlobalInfoFragment fragment;
+        try {
+            fragment = pool.invoke(new ScanTask(files, 0, files.size(), cache));
+        } finally {
+            pool.shutdown();
+        }
+        LOG.fine(String.format("Scanned %d classpath elements using %d threads in %d ms",
+                files.size(), pool.getParallelism(), System.currentTimeMillis() - t0));
+        if (fragment.isIncomplete()) {
+            LOG.warning("Class hierarchy is incomplete, as some classpath elements could not be scanned");
+        }
+        if (cache != null) {
+            LOG.fine(String.format("Reused cached class hierarchy of %d jar files (%d jar files re-scanned)",
+                    cache.getHits(), cache.getMisses()));
+        }
+        return encode(fragment);
+    }
+
+    private static class ScanTask extends RecursiveTask<GlobalInfoFragment> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<File> files;
+
+        private final int from;
+
+        private final int to;
+
+        private final GlobalInfoCache cache;
+
+        ScanTask(final List<File> files, final int from, final int to, final GlobalInfoCache cache) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.cache = cache;
+        }
+
+        @Override
+        protected GlobalInfoFragment compute() {
+            if (this.to - this.from <= 1 || isCheap()) {
+                final GlobalInfoFragment fragment = new GlobalInfoFragment();
+                for (int i = this.from; i < this.to; i++) {
+                    fragment.mergeFrom(scanOrReuse(this.files.get(i)));
+                }
+                return fragment;
+            }
+            final int mid = (this.from + this.to) >>> 1;
+            final ScanTask left = new ScanTask(this.files, this.from, mid, this.cache);
+            final ScanTask right = new ScanTask(this.files, mid, this.to, this.cache);
+            left.fork();
+            final GlobalInfoFragment rightFragment = right.compute();
+            return left.join().mergeFrom(rightFragment);
+        }
+
+        private GlobalInfoFragment scanOrReuse(final File file) {
+            if (this.cache != null && file.getName().endsWith(".jar")) {
+                return this.cache.fragmentFor(file);
+            }
+            return scan(file);
+        }
+
+        // a range of loose class files is cheap enough to be scanned by a single task
+        private boolean isCheap() {
+            if (this.to - this.from > CLASS_FILES_PER_TASK) {
+                return false;
+            }
+            for (int i = this.from; i < this.to; i++) {
+                if (this.files.get(i).getName().endsWith(".jar")) {
+                    return false;
+                }
             }
+            return true;
         }
-        return ch;
     }
 
     private static class BasicClassVisitor extends ClassVisitor {
@@ -177,4 +580,4 @@ public final class GlobalInfo implements Serializable {
         }
 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package org.mudebug.prapr.core.analysis;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.pitest.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An on-disk cache of class hierarchy fragments of jar files. Each jar file is
+ * scanned only if its path, size, or modification time has changed since the last
+ * time it was cached, so that repeated runs on the same project only pay for the
+ * jars that actually changed. Class files of the project itself are never cached.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class GlobalInfoCache {
+    private static final Logger LOG = Log.getLogger();
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final File directory;
+
+    private final AtomicInteger hits;
+
+    private final AtomicInteger misses;
+
+    public GlobalInfoCache(final File directory) {
+        this.directory = directory;
+        this.hits = new AtomicInteger(0);
+        this.misses = new AtomicInteger(0);
+    }
+
+    GlobalInfoFragment fragmentFor(final File jarFile) {
+        final File entryFile = entryFileFor(jarFile);
+        final GlobalInfoFragment cached = read(entryFile, jarFile);
+        if (cached != null) {
+            this.hits.incrementAndGet();
+            return cached;
+        }
+        this.misses.incrementAndGet();
+        final GlobalInfoFragment fragment = GlobalInfo.scan(jarFile);
+        if (fragment.isIncomplete()) {
+            LOG.fine("Not caching class hierarchy of " + jarFile.getAbsolutePath()
+                    + ", as it could not be scanned completely");
+        } else {
+            write(entryFile, jarFile, fragment);
+        }
+        return fragment;
+    }
+
+    private File entryFileFor(final File jarFile) {
+        return new File(this.directory, DigestUtils.sha1Hex(jarFile.getAbsolutePath()) + ".bin");
+    }
+
+    private GlobalInfoFragment read(final File entryFile, final File jarFile) {
+        if (!entryFile.isFile()) {
+            return null;
+        }
+        try (final ObjectInputStream ois =
+                     new ObjectInputStream(new BufferedInputStream(new FileInputStream(entryFile)))) {
+            if (ois.readInt() != FORMAT_VERSION
+                    || !jarFile.getAbsolutePath().equals(ois.readUTF())
+                    || ois.readLong() != jarFile.length()
+                    || ois.readLong() != jarFile.lastModified()) {
+                return null; // stale entry
+            }
+            return (GlobalInfoFragment) ois.readObject();
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Ignoring corrupt cache entry " + entryFile.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private void write(final File entryFile, final File jarFile, final GlobalInfoFragment fragment) {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs() && !this.directory.isDirectory()) {
+            LOG.warning("Unable to create cache directory " + this.directory.getAbsolutePath());
+            return;
+        }
+        try {
+            // the same jar might be scanned by two tasks, so we never expose half-written entries
+            final File tempFile = File.createTempFile("fragment", ".tmp", this.directory);
+            try (final ObjectOutputStream oos =
+                         new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                oos.writeInt(FORMAT_VERSION);
+                oos.writeUTF(jarFile.getAbsolutePath());
+                oos.writeLong(jarFile.length());
+                oos.writeLong(jarFile.lastModified());
+                oos.writeObject(fragment);
+            }
+            if (!tempFile.renameTo(entryFile)) {
+                entryFile.delete();
+                if (!tempFile.renameTo(entryFile)) {
+                    tempFile.delete();
+                }
+            }
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Unable to cache class hierarchy of " + jarFile.getAbsolutePath(), e);
+        }
+    }
+
+    public int getHits() {
+        return this.hits.get();
+    }
+
+    public int getMisses() {
+        return this.misses.get();
+    }
+
+    public File getDirectory() {
+        return this.directory;
+    }
+}
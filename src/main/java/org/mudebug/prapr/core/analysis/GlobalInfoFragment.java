@@ -0,0 +1,109 @@
+package org.mudebug.prapr.core.analysis;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A partial class hierarchy and factory method table gathered from a subset of
+ * the classpath (e.g. a single jar file). Fragments are built independently and
+ * then merged, in classpath order, to obtain a <code>GlobalInfo</code>.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+final class GlobalInfoFragment implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /*super class internal name -> [subclass internal names]*/
+    final Map<String, List<String>> classHierarchy;
+
+    /*class internal name -> [(static & public) factory methods]*/
+    final Map<String, List<FactoryMethod>> factoryMethods;
+
+    /*set if some file could not be scanned completely; such fragments are never cached*/
+    private transient boolean incomplete;
+
+    GlobalInfoFragment() {
+        this.classHierarchy = new HashMap<>();
+        this.factoryMethods = new HashMap<>();
+    }
+
+    void addSubclass(final String superclass, final String subclass) {
+        List<String> names = this.classHierarchy.get(superclass);
+        if (names == null) {
+            names = new ArrayList<>();
+            this.classHierarchy.put(superclass, names);
+        }
+        names.add(subclass);
+    }
+
+    void addFactoryMethod(final String className, final FactoryMethod method) {
+        List<FactoryMethod> methods = this.factoryMethods.get(className);
+        if (methods == null) {
+            methods = new ArrayList<>();
+            this.factoryMethods.put(className, methods);
+        }
+        methods.add(method);
+    }
+
+    void markIncomplete() {
+        this.incomplete = true;
+    }
+
+    boolean isIncomplete() {
+        return this.incomplete;
+    }
+
+    /**
+     * Appends the contents of <code>other</code> to this fragment. The relative order
+     * of subclasses and factory methods is preserved so that merging the fragments in
+     * classpath order gives the same result as a sequential scan.
+     *
+     * @param other the fragment to be appended
+     * @return this fragment
+     */
+    GlobalInfoFragment mergeFrom(final GlobalInfoFragment other) {
+        for (final Map.Entry<String, List<String>> ent : other.classHierarchy.entrySet()) {
+            final List<String> names = this.classHierarchy.get(ent.getKey());
+            if (names == null) {
+                this.classHierarchy.put(ent.getKey(), new ArrayList<>(ent.getValue()));
+            } else {
+                names.addAll(ent.getValue());
+            }
+        }
+        for (final Map.Entry<String, List<FactoryMethod>> ent : other.factoryMethods.entrySet()) {
+            final List<FactoryMethod> methods = this.factoryMethods.get(ent.getKey());
+            if (methods == null) {
+                this.factoryMethods.put(ent.getKey(), new ArrayList<>(ent.getValue()));
+            } else {
+                methods.addAll(ent.getValue());
+            }
+        }
+        this.incomplete |= other.incomplete;
+        return this;
+    }
+}
@@ -0,0 +1,189 @@
+package org.mudebug.prapr.core.commons;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.LineMap;
+
+/**
+ * A compact store of block coverage: each covered block is given a dense id
+ * and the ids of the tests covering it, assigned by {@link TestRegistry}, are
+ * kept in a growable <code>int</code> array.
+ * Unlike a map from blocks to sets of <code>TestInfo</code>, recording that a
+ * test covers a block allocates nothing beyond amortized array growth.
+ *
+ * Instances are populated by a single thread, i.e., the coverage result handler.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class BlockCoverageStore {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Map<BlockLocation, Integer> blockIds;
+
+    private final List<BlockLocation> blocks;
+
+    private int[][] tests;
+
+    private int[] testsCounts;
+
+    public BlockCoverageStore() {
+        this.blockIds = new HashMap<>();
+        this.blocks = new ArrayList<>();
+        this.tests = new int[1024][];
+        this.testsCounts = new int[1024];
+    }
+
+    /**
+     * @param testId Id of a test, as assigned by the test registry
+     * @param coverage The blocks covered by the test
+     */
+    public void add(final int testId, final Collection<BlockLocation> coverage) {
+        for (final BlockLocation block : coverage) {
+            add(testId, blockIdOf(block));
+        }
+    }
+
+    private int blockIdOf(final BlockLocation block) {
+        Integer blockId = this.blockIds.get(block);
+        if (blockId == null) {
+            blockId = this.blocks.size();
+            if (blockId == this.tests.length) {
+                this.tests = Arrays.copyOf(this.tests, 2 * blockId);
+                this.testsCounts = Arrays.copyOf(this.testsCounts, 2 * blockId);
+            }
+            this.blockIds.put(block, blockId);
+            this.blocks.add(block);
+            this.tests[blockId] = new int[INITIAL_CAPACITY];
+        }
+        return blockId;
+    }
+
+    private void add(final int testId, final int blockId) {
+        int[] ids = this.tests[blockId];
+        final int count = this.testsCounts[blockId];
+        if (count > 0 && ids[count - 1] == testId) {
+            return; // the same test reported twice in a row
+        }
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, 2 * count);
+            this.tests[blockId] = ids;
+        }
+        ids[count] = testId;
+        this.testsCounts[blockId] = count + 1;
+    }
+
+    /**
+     * @return The number of covered blocks
+     */
+    public int size() {
+        return this.blocks.size();
+    }
+
+    public BlockLocation getBlock(final int blockId) {
+        return this.blocks.get(blockId);
+    }
+
+    /**
+     * @param blockId Id of a covered block
+     * @return Ids of the tests covering the block. The returned array is owned by
+     * this store and shall not be modified.
+     */
+    public int[] getTests(final int blockId) {
+        final int[] ids = this.tests[blockId];
+        final int count = this.testsCounts[blockId];
+        if (ids.length == count) {
+            return ids;
+        }
+        final int[] trimmed = Arrays.copyOf(ids, count);
+        this.tests[blockId] = trimmed;
+        return trimmed;
+    }
+
+    /**
+     * Maps the blocks covered by failing tests to source lines, the same way PIT does
+     * when it assigns tests to the mutations on a line.
+     *
+     * @param testRegistry The registry of tests which knows the failing tests
+     * @param lineMap The mapping from blocks to the lines they span
+     * @return For each class (in Java name format) that is covered by a failing test, the
+     * ordinals of the failing tests covering each of its lines
+     */
+    public Map<String, Map<Integer, BitSet>> failingTestsPerLine(final TestRegistry testRegistry,
+                                                                 final LineMap lineMap) {
+        final Map<ClassName, Map<BlockLocation, Set<Integer>>> linesPerClass = new HashMap<>();
+        final Map<String, Map<Integer, BitSet>> result = new HashMap<>();
+        for (int blockId = 0; blockId < this.blocks.size(); blockId++) {
+            final BitSet failing = testRegistry.failingAmong(getTests(blockId));
+            if (failing.isEmpty()) {
+                continue;
+            }
+            final BlockLocation block = this.blocks.get(blockId);
+            final ClassName className = block.getLocation().getClassName();
+            Map<BlockLocation, Set<Integer>> lines = linesPerClass.get(className);
+            if (lines == null) {
+                lines = lineMap.mapLines(className);
+                linesPerClass.put(className, lines);
+            }
+            final Set<Integer> blockLines = lines.get(block);
+            if (blockLines == null) {
+                continue;
+            }
+            Map<Integer, BitSet> classLines = result.get(className.asJavaName());
+            if (classLines == null) {
+                classLines = new HashMap<>();
+                result.put(className.asJavaName(), classLines);
+            }
+            for (final Integer line : blockLines) {
+                final BitSet lineFailing = classLines.get(line);
+                if (lineFailing == null) {
+                    classLines.put(line, (BitSet) failing.clone());
+                } else {
+                    lineFailing.or(failing);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return A rough estimate of the number of bytes taken by the test ids
+     */
+    public long getTestIdsBytes() {
+        long bytes = 8L * this.tests.length + 4L * this.testsCounts.length;
+        for (int blockId = 0; blockId < this.blocks.size(); blockId++) {
+            bytes += 16L + 4L * this.tests[blockId].length;
+        }
+        return bytes;
+    }
+}
@@ -118,6 +118,21 @@ public final class TestCaseUtil {
         return result;
     }
     
+    public static List<TestInfo> reorder(final List<TestInfo> tis, final TestRegistry testRegistry) {
+        final List<TestInfo> result = new ArrayList<>(tis.size());
+        final List<TestInfo> passingTests = new ArrayList<>(tis.size());
+        for (final TestInfo ti : tis) {
+            if (testRegistry.isFailing(ti)) {
+                result.add(ti); // failing tests appear first
+            } else {
+                passingTests.add(ti);
+            }
+        }
+        // passing tests come next
+        result.addAll(passingTests);
+        return result;
+    }
+
     public static List<TestInfo> union(final Iterator<List<TestInfo>> lit) {
         final List<TestInfo> l = lit.next();
         if (!lit.hasNext()) {
@@ -0,0 +1,249 @@
+package org.mudebug.prapr.core.commons;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.coverage.TestInfo;
+
+/**
+ * A registry of test cases in which the name of each test is sanitized only
+ * once and the test is given a dense integer id.
+ * The registry also gives the originally failing tests dense ordinals, so that
+ * the failing tests covering a location can be represented as a {@link BitSet}.
+ *
+ * The registry is populated by the coverage generator. Tests that are looked up
+ * without being registered before, e.g., after deserialization, are registered
+ * on the fly. Only the failing tests are serialized.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class TestRegistry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final Integer NOT_FAILING = -1;
+
+    // sanitized failing test name -> ordinal of the failing test
+    private final Map<String, Integer> failingOrdinals;
+
+    // raw test name -> id
+    private transient Map<String, Integer> ids;
+
+    // id -> sanitized test name
+    private transient List<String> sanitizedNames;
+
+    // id -> ordinal of the failing test, or NOT_FAILING
+    private transient List<Integer> ordinals;
+
+    /**
+     * @param failingTests The collection of originally failing tests (the names are sanitized)
+     */
+    public TestRegistry(final Collection<String> failingTests) {
+        this.failingOrdinals = new LinkedHashMap<>();
+        for (final String name : failingTests) {
+            if (!this.failingOrdinals.containsKey(name)) {
+                this.failingOrdinals.put(name, this.failingOrdinals.size());
+            }
+        }
+        init();
+    }
+
+    private void init() {
+        this.ids = new HashMap<>();
+        this.sanitizedNames = new ArrayList<>();
+        this.ordinals = new ArrayList<>();
+    }
+
+    private Object readResolve() {
+        init();
+        return this;
+    }
+
+    /**
+     * @param name Raw name of a test case
+     * @return The id of the test case
+     */
+    public synchronized int register(final String name) {
+        Integer id = this.ids.get(name);
+        if (id == null) {
+            id = this.sanitizedNames.size();
+            final String sanitizedName = TestCaseUtil.sanitizeTestName(name);
+            final Integer ordinal = this.failingOrdinals.get(sanitizedName);
+            this.ids.put(name, id);
+            this.sanitizedNames.add(sanitizedName);
+            this.ordinals.add(ordinal == null ? NOT_FAILING : ordinal);
+        }
+        return id;
+    }
+
+    /**
+     * Marks the tests sanitized to <code>sanitizedName</code> as failing.
+     *
+     * @param sanitizedName Sanitized name of a failing test
+     */
+    public synchronized void addFailingTest(final String sanitizedName) {
+        if (this.failingOrdinals.containsKey(sanitizedName)) {
+            return;
+        }
+        final Integer ordinal = this.failingOrdinals.size();
+        this.failingOrdinals.put(sanitizedName, ordinal);
+        for (int id = 0; id < this.sanitizedNames.size(); id++) {
+            if (this.sanitizedNames.get(id).equals(sanitizedName)) {
+                this.ordinals.set(id, ordinal);
+            }
+        }
+    }
+
+    public synchronized String getSanitizedName(final int id) {
+        return this.sanitizedNames.get(id);
+    }
+
+    public synchronized int idOf(final TestInfo ti) {
+        return register(ti.getName());
+    }
+
+    /**
+     * @return The number of registered tests
+     */
+    public synchronized int size() {
+        return this.sanitizedNames.size();
+    }
+
+    /**
+     * @return The number of distinct failing tests
+     */
+    public synchronized int getFailingTestsCount() {
+        return this.failingOrdinals.size();
+    }
+
+    /**
+     * @return Sanitized names of the failing tests
+     */
+    public synchronized Collection<String> getFailingTests() {
+        return Collections.unmodifiableList(new ArrayList<>(this.failingOrdinals.keySet()));
+    }
+
+    /**
+     * @param ti A test case
+     * @return The ordinal of <code>ti</code> if it is a failing test, or <code>-1</code> otherwise
+     */
+    public synchronized int failingOrdinalOf(final TestInfo ti) {
+        return this.ordinals.get(register(ti.getName()));
+    }
+
+    /**
+     * @param id Id of a registered test
+     * @return The ordinal of the test if it is a failing test, or <code>-1</code> otherwise
+     */
+    public synchronized int failingOrdinalOf(final int id) {
+        return this.ordinals.get(id);
+    }
+
+    public boolean isFailing(final TestInfo ti) {
+        return failingOrdinalOf(ti) >= 0;
+    }
+
+    /**
+     * @param tis A collection of test cases, e.g., those covering a location
+     * @return The set of ordinals of the failing tests among <code>tis</code>
+     */
+    public synchronized BitSet failingAmong(final Collection<TestInfo> tis) {
+        final BitSet failing = new BitSet(this.failingOrdinals.size());
+        for (final TestInfo ti : tis) {
+            final int ordinal = failingOrdinalOf(ti);
+            if (ordinal >= 0) {
+                failing.set(ordinal);
+            }
+        }
+        return failing;
+    }
+
+    /**
+     * @return <code>true</code> iff all the failing tests are among <code>tis</code>
+     */
+    public synchronized boolean containsAll(final Collection<TestInfo> tis) {
+        if (this.failingOrdinals.isEmpty()) {
+            return true;
+        }
+        return failingAmong(tis).cardinality() == this.failingOrdinals.size();
+    }
+
+    /**
+     * @param ids Ids of registered tests, e.g., those covering a block
+     * @return <code>true</code> iff all the failing tests are among <code>ids</code>
+     */
+    public synchronized boolean containsAll(final int[] ids) {
+        if (this.failingOrdinals.isEmpty()) {
+            return true;
+        }
+        return failingAmong(ids).cardinality() == this.failingOrdinals.size();
+    }
+
+    /**
+     * @param ids Ids of registered tests, e.g., those covering a block
+     * @return The set of ordinals of the failing tests among <code>ids</code>
+     */
+    public synchronized BitSet failingAmong(final int[] ids) {
+        final BitSet failing = new BitSet(this.failingOrdinals.size());
+        for (final int id : ids) {
+            final int ordinal = this.ordinals.get(id);
+            if (ordinal >= 0) {
+                failing.set(ordinal);
+            }
+        }
+        return failing;
+    }
+
+    /**
+     * @param ids Ids of registered tests, e.g., those covering a block
+     * @return <code>true</code> iff at least one failing test is among <code>ids</code>
+     */
+    public synchronized boolean intersects(final int[] ids) {
+        for (final int id : ids) {
+            if (this.ordinals.get(id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> iff at least one failing test is among <code>tis</code>
+     */
+    public synchronized boolean intersects(final Collection<TestInfo> tis) {
+        for (final TestInfo ti : tis) {
+            if (failingOrdinalOf(ti) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -38,38 +38,53 @@ public class AugmentedEngineArguments extends EngineArguments {
 
     private final GlobalInfo classHierarchy;
 
+    // only set for the arguments that are sent to mutation minions
+    private final MinionStartupLog startupLog;
+
     public AugmentedEngineArguments(final Collection<String> mutators,
                                     final Collection<String> excludedMethods,
                                     final SuspChecker suspChecker,
-                                    final GlobalInfo classHierarchy) {
+                                    final GlobalInfo classHierarchy,
+                                    final MinionStartupLog startupLog) {
         super(mutators, excludedMethods);
         this.suspChecker = suspChecker;
         this.classHierarchy = classHierarchy;
+        this.startupLog = startupLog;
     }
 
     public static AugmentedEngineArguments arguments() {
         return new AugmentedEngineArguments(Collections.<String>emptyList(),
                 Collections.<String>emptyList(),
                 null,
+                null,
                 null);
     }
 
     @Override
     public AugmentedEngineArguments withMutators(Collection<String> mutators) {
-        return new AugmentedEngineArguments(mutators, excludedMethods(), this.suspChecker, this.classHierarchy);
+        return new AugmentedEngineArguments(mutators, excludedMethods(), this.suspChecker, this.classHierarchy,
+                this.startupLog);
     }
 
     @Override
     public AugmentedEngineArguments withExcludedMethods(Collection<String> excludedMethods) {
-        return new AugmentedEngineArguments(mutators(), excludedMethods, this.suspChecker, this.classHierarchy);
+        return new AugmentedEngineArguments(mutators(), excludedMethods, this.suspChecker, this.classHierarchy,
+                this.startupLog);
     }
 
     public AugmentedEngineArguments withSuspChecker(SuspChecker suspChecker) {
-        return new AugmentedEngineArguments(mutators(), excludedMethods(), suspChecker, this.classHierarchy);
+        return new AugmentedEngineArguments(mutators(), excludedMethods(), suspChecker, this.classHierarchy,
+                this.startupLog);
     }
 
     public AugmentedEngineArguments withClassHierarchy(GlobalInfo classHierarchy) {
-        return new AugmentedEngineArguments(mutators(), excludedMethods(), this.suspChecker, classHierarchy);
+        return new AugmentedEngineArguments(mutators(), excludedMethods(), this.suspChecker, classHierarchy,
+                this.startupLog);
+    }
+
+    public AugmentedEngineArguments withStartupLog(MinionStartupLog startupLog) {
+        return new AugmentedEngineArguments(mutators(), excludedMethods(), this.suspChecker, this.classHierarchy,
+                startupLog);
     }
 
     public SuspChecker getSuspChecker() {
@@ -79,4 +94,8 @@ public class AugmentedEngineArguments extends EngineArguments {
     public GlobalInfo getClassHierarchy() {
         return this.classHierarchy;
     }
+
+    public MinionStartupLog getStartupLog() {
+        return this.startupLog;
+    }
 }
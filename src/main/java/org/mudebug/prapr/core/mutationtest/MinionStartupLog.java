@@ -0,0 +1,118 @@
+package org.mudebug.prapr.core.mutationtest;
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Records how long it takes for a mutation minion to generate its first mutant after
+ * its JVM has started, i.e., the startup latency of the minion including the time spent
+ * on reading the engine arguments and loading the shared artifacts. Minions append their
+ * latencies to a file, which is summarized by the main process.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class MinionStartupLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // each minion reports its first mutant only
+    private static final AtomicBoolean REPORTED = new AtomicBoolean();
+
+    private final String fileName;
+
+    private MinionStartupLog(final String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * @param file The file to which the minions append their latencies. Latencies
+     *             recorded by the previous runs are discarded.
+     * @return A log to be shipped to the minions
+     */
+    public static MinionStartupLog create(final File file) {
+        if (file.exists() && !file.delete()) {
+            Log.getLogger().fine("Unable to discard minion startup latencies in " + file.getAbsolutePath());
+        }
+        return new MinionStartupLog(file.getAbsolutePath());
+    }
+
+    /**
+     * Called by the mutater whenever it generates a mutant.
+     */
+    public void mutantGenerated() {
+        if (!REPORTED.compareAndSet(false, true)) {
+            return;
+        }
+        final long latency = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        try (final FileOutputStream fos = new FileOutputStream(this.fileName, true);
+             final FileLock lock = fos.getChannel().lock()) {
+            fos.write((latency + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            Log.getLogger().log(Level.FINE, "Unable to record minion startup latency", e);
+        }
+    }
+
+    /**
+     * @return A one-line summary of the latencies recorded so far, or <code>null</code>
+     * if no minion has recorded its latency
+     */
+    public String summarize() {
+        final File file = new File(this.fileName);
+        if (!file.isFile()) {
+            return null;
+        }
+        int count = 0;
+        long total = 0L;
+        long max = 0L;
+        try (final BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final long latency = Long.parseLong(line.trim());
+                count++;
+                total += latency;
+                max = Math.max(max, latency);
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.getLogger().log(Level.FINE, "Unable to read minion startup latencies", e);
+            return null;
+        }
+        if (count == 0) {
+            return null;
+        }
+        return String.format("%d ms on average, %d ms at most, over %d minions", total / count, max, count);
+    }
+}
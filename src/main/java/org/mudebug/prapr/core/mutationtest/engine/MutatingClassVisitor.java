@@ -20,6 +20,7 @@ package org.mudebug.prapr.core.mutationtest.engine;
  * #L%
  */
 
+import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.objectweb.asm.Opcodes;
@@ -41,8 +42,14 @@ import org.pitest.mutationtest.engine.gregor.blocks.BlockTrackingMethodDecorator
 import org.pitest.reloc.asm.ClassVisitor;
 import org.pitest.reloc.asm.MethodVisitor;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -57,31 +64,67 @@ class MutatingClassVisitor extends ClassVisitor {
 
     private final Set<MethodMutatorFactory> methodMutators;
 
+    // mutators whose variants are visited separately even during mutant discovery
+    private final Set<MethodMutatorFactory> unfusedMutators;
+
+    // enabled variants of fusible mutators grouped by mutator and ordered by ordinal
+    private final Map<Class<?>, List<FusibleMethodMutatorFactory>> fusedMutators;
+
     private final CollectedClassInfo collectedClassInfo;
 
     private final ClassByteArraySource cache;
 
     private final GlobalInfo classHierarchy;
 
+    private final SuspChecker suspChecker;
+
     MutatingClassVisitor(final ClassVisitor delegateClassVisitor,
                          final PraPRMutaterClassContext context,
                          final F<MethodInfo, Boolean> filter,
                          final Collection<MethodMutatorFactory> mutators,
                          final CollectedClassInfo collectedClassInfo,
                          final ClassByteArraySource cache,
-                         final GlobalInfo classHierarchy) {
+                         final GlobalInfo classHierarchy,
+                         final SuspChecker suspChecker) {
         super(Opcodes.ASM6, delegateClassVisitor);
         this.context = context;
         this.filter = filter;
         this.methodMutators = new HashSet<>(mutators);
+        this.unfusedMutators = new HashSet<>();
+        this.fusedMutators = new HashMap<>();
+        for (final MethodMutatorFactory mutator : this.methodMutators) {
+            if (mutator instanceof FusibleMethodMutatorFactory) {
+                List<FusibleMethodMutatorFactory> variants = this.fusedMutators.get(mutator.getClass());
+                if (variants == null) {
+                    variants = new ArrayList<>();
+                    this.fusedMutators.put(mutator.getClass(), variants);
+                }
+                variants.add((FusibleMethodMutatorFactory) mutator);
+            } else {
+                this.unfusedMutators.add(mutator);
+            }
+        }
+        for (final List<FusibleMethodMutatorFactory> variants : this.fusedMutators.values()) {
+            Collections.sort(variants, new Comparator<FusibleMethodMutatorFactory>() {
+                @Override
+                public int compare(final FusibleMethodMutatorFactory v1, final FusibleMethodMutatorFactory v2) {
+                    return Integer.compare(v1.ordinal(), v2.ordinal());
+                }
+            });
+        }
         this.collectedClassInfo = collectedClassInfo;
         this.cache = cache;
         this.classHierarchy = classHierarchy;
+        this.suspChecker = suspChecker;
     }
 
     @Override
     public MethodVisitor visitMethod(final int access, final String methodName, final String methodDescriptor,
                                      final String signature, final String[] exceptions) {
+        if (!isTargeted(methodName, methodDescriptor)) {
+            // handing the writer's own visitor back lets ASM copy the method as it is
+            return this.cv.visitMethod(access, methodName, methodDescriptor, signature, exceptions);
+        }
         final PraPRMethodMutationContext methodContext = new PraPRMethodMutationContext(this.context,
                 Location.location(ClassName.fromString(this.context.getClassInfo().getName()),
                         MethodName.fromString(methodName), methodDescriptor));
@@ -95,24 +138,69 @@ class MutatingClassVisitor extends ClassVisitor {
                 .withMethodDescriptor(methodDescriptor);
 
         if (this.filter.apply(info)) {
-            return this.visitMethodForMutation(methodContext, info, methodVisitor);
+            return this.visitMethodForMutation(methodContext, info, methodVisitor, access);
         } else {
             return methodVisitor;
         }
 
     }
 
+    private boolean isTargeted(final String methodName, final String methodDescriptor) {
+        if (this.context.getTargetMutation().hasNone()) {
+            return true;
+        }
+        final Location location = this.context.getTargetMutation().value().getLocation();
+        return location.getMethodName().name().equals(methodName)
+                && location.getMethodDesc().equals(methodDescriptor);
+    }
+
     private MethodVisitor visitMethodForMutation(final PraPRMethodMutationContext methodContext,
                                                  final MethodInfo methodInfo,
-                                                 final MethodVisitor methodVisitor) {
+                                                 final MethodVisitor methodVisitor,
+                                                 final int access) {
         MethodVisitor next = methodVisitor;
-        for (final MethodMutatorFactory each : this.methodMutators) {
-            next = getMethodVisitor(each, methodContext, methodInfo, next);
+        if (this.context.getTargetMutation().hasSome()) {
+            for (final MethodMutatorFactory each : this.methodMutators) {
+                next = getMethodVisitor(each, methodContext, methodInfo, next);
+            }
+        } else {
+            final boolean skipUnhitLines = !mightBeStaticInitializerCode(methodInfo.getName(), access);
+            // during mutant discovery, variants of the same mutator share a single visitor
+            for (final MethodMutatorFactory each : this.unfusedMutators) {
+                final MethodVisitor mutatorVisitor = getMethodVisitor(each, methodContext, methodInfo, next);
+                next = skippingUnhitLines(each, mutatorVisitor, next, skipUnhitLines);
+            }
+            for (final List<FusibleMethodMutatorFactory> variants : this.fusedMutators.values()) {
+                final MethodVisitor mutatorVisitor = variants.get(0).createFused(methodContext, methodInfo, next,
+                        this.collectedClassInfo, this.cache, this.classHierarchy, variants);
+                next = skippingUnhitLines(variants.get(0), mutatorVisitor, next, skipUnhitLines);
+            }
         }
 
         return new InstructionTrackingMethodVisitor(wrapWithDecorators(methodContext, wrapWithFilters(methodContext, next)), methodContext);
     }
 
+    private MethodVisitor skippingUnhitLines(final MethodMutatorFactory mutator,
+                                             final MethodVisitor mutatorVisitor,
+                                             final MethodVisitor next,
+                                             final boolean skipUnhitLines) {
+        if (skipUnhitLines && mutator instanceof SkippableMethodMutatorFactory) {
+            return new UnhitLineSkippingMethodVisitor(mutatorVisitor, next, this.suspChecker,
+                    ClassName.fromString(this.context.getClassInfo().getName()).asJavaName());
+        }
+        return mutatorVisitor;
+    }
+
+    // tests are assigned to static initializer code, i.e., the code of the static initializer and
+    // of the private static methods called by it, at class level rather than at line level
+    private static boolean mightBeStaticInitializerCode(final String methodName, final int access) {
+        if ("<clinit>".equals(methodName)) {
+            return true;
+        }
+        final int privateStatic = Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC;
+        return (access & privateStatic) == privateStatic;
+    }
+
     private MethodVisitor getMethodVisitor(final MethodMutatorFactory methodMutatorFactory,
                                            final PraPRMethodMutationContext methodContext,
                                            final MethodInfo methodInfo,
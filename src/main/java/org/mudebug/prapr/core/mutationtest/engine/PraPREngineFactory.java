@@ -23,6 +23,7 @@ package org.mudebug.prapr.core.mutationtest.engine;
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.AugmentedEngineArguments;
+import org.mudebug.prapr.core.mutationtest.MinionStartupLog;
 import org.mudebug.prapr.core.mutationtest.engine.config.AugmentedMutator;
 import org.mudebug.prapr.core.mutationtest.engine.config.PraPRMutationEngineConfig;
 import org.pitest.functional.F;
@@ -51,16 +52,18 @@ public class PraPREngineFactory implements MutationEngineFactory {
         return createEngineWithMutators(arguments.excludedMethods(),
                 createMutatorListFromArrayOrUseDefaults(arguments.mutators()),
                 arguments.getSuspChecker(),
-                arguments.getClassHierarchy());
+                arguments.getClassHierarchy(),
+                arguments.getStartupLog());
     }
 
     private MutationEngine createEngineWithMutators(final Collection<String> excludedMethods,
                                                     final Collection<? extends MethodMutatorFactory> mutators,
                                                     final SuspChecker suspChecker,
-                                                    final GlobalInfo classHierarchy) {
+                                                    final GlobalInfo classHierarchy,
+                                                    final MinionStartupLog startupLog) {
         final Predicate<MethodInfo> filter = Prelude.not(stringToMethodInfoPredicate(excludedMethods));
         final PraPRMutationEngineConfig config =
-                new PraPRMutationEngineConfig(filter, mutators, suspChecker, classHierarchy);
+                new PraPRMutationEngineConfig(filter, mutators, suspChecker, classHierarchy, startupLog);
         return new PraPRMutationEngine(config);
     }
 
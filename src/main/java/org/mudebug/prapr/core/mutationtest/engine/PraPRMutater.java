@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine;
 
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.MinionStartupLog;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -30,6 +31,7 @@ import org.pitest.bytecode.NullVisitor;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.ComputeClassWriter;
+import org.pitest.classinfo.PraPRComputeClassWriter;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.MutableList;
@@ -63,6 +65,9 @@ import static org.pitest.functional.prelude.Prelude.not;
 public class PraPRMutater implements Mutater {
     private final Map<String, String> computeCache;
 
+    // only used for resolving common super classes while computing frames
+    private final ComputeClassWriter hierarchy;
+
     private final Predicate<MethodInfo> filter;
 
     private final ClassByteArraySource byteSource;
@@ -73,37 +78,83 @@ public class PraPRMutater implements Mutater {
 
     private final GlobalInfo classHierarchy;
 
+    // null, unless running in a mutation minion
+    private final MinionStartupLog startupLog;
+
+    /* mutants are requested class by class, so we keep the reader and the collected
+     * information of the last class around. we deliberately do not keep a ClassNode
+     * to replay: ASM computes frames slightly differently for tree-replayed code. */
+    private ParsedClass lastParsed;
+
     public PraPRMutater(final Predicate<MethodInfo> filter,
                         final Collection<MethodMutatorFactory> mutators,
                         final ClassByteArraySource byteSource,
                         final SuspChecker suspChecker,
-                        final GlobalInfo classHierarchy) {
+                        final GlobalInfo classHierarchy,
+                        final MinionStartupLog startupLog) {
         this.filter = filter;
         this.mutators =  new HashSet<>(mutators);
         this.byteSource = byteSource;
         this.suspChecker = suspChecker;
         this.classHierarchy = classHierarchy;
+        this.startupLog = startupLog;
         this.computeCache = new HashMap<>();
+        this.hierarchy = new ComputeClassWriter(this.byteSource, this.computeCache, ClassWriter.COMPUTE_FRAMES);
     }
 
     @Override
-    public Mutant getMutation(MutationIdentifier id) {
+    public synchronized Mutant getMutation(MutationIdentifier id) {
         final PraPRMutaterClassContext context = new PraPRMutaterClassContext();
         context.setTargetMutation(Option.some(id));
-        final Option<byte[]> bytes = this.byteSource.getBytes(id.getClassName().asJavaName());
-        final ClassReader reader = new ClassReader(bytes.value());
-        final ClassWriter w = new ComputeClassWriter(this.byteSource,
-                this.computeCache, FrameOptions.pickFlags(bytes.value()));
-        final CollectedClassInfo cci = ClassInfoCollector.collect(bytes.value());
+        final ParsedClass parsed = parse(id.getClassName());
+        // the writer shares the constant pool of the original class and copies all
+        // the methods, other than the one being mutated, without re-assembling them
+        final ClassWriter w = new PraPRComputeClassWriter(parsed.reader, this.hierarchy,
+                FrameOptions.pickFlags(parsed.bytes));
         final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
                 filterMethods(), FCollection.filter(this.mutators, isMutatorFor(id)),
-                cci, this.byteSource, this.classHierarchy);
-        reader.accept(mca, ClassReader.EXPAND_FRAMES);
+                parsed.cci, this.byteSource, this.classHierarchy, this.suspChecker);
+        parsed.reader.accept(mca, ClassReader.EXPAND_FRAMES);
 
         final List<MutationDetails> details = context.getMutationDetails(context
                 .getTargetMutation().value());
 
-        return new Mutant(details.get(0), w.toByteArray());
+        final Mutant mutant = new Mutant(details.get(0), w.toByteArray());
+        if (this.startupLog != null) {
+            this.startupLog.mutantGenerated();
+        }
+        return mutant;
+    }
+
+    private ParsedClass parse(final ClassName className) {
+        final ParsedClass parsed = this.lastParsed;
+        if (parsed != null && parsed.name.equals(className)) {
+            return parsed;
+        }
+        final byte[] bytes = this.byteSource.getBytes(className.asJavaName()).value();
+        this.lastParsed = new ParsedClass(className, bytes, new ClassReader(bytes),
+                ClassInfoCollector.collect(bytes));
+        return this.lastParsed;
+    }
+
+    private static final class ParsedClass {
+        final ClassName name;
+
+        final byte[] bytes;
+
+        final ClassReader reader;
+
+        final CollectedClassInfo cci;
+
+        ParsedClass(final ClassName name,
+                    final byte[] bytes,
+                    final ClassReader reader,
+                    final CollectedClassInfo cci) {
+            this.name = name;
+            this.bytes = bytes;
+            this.reader = reader;
+            this.cci = cci;
+        }
     }
 
     private static Predicate<MethodMutatorFactory> isMutatorFor(final MutationIdentifier id) {
@@ -142,7 +193,7 @@ public class PraPRMutater implements Mutater {
         final ClassReader first = new ClassReader(classToMutate);
         final NullVisitor nv = new NullVisitor();
         final MutatingClassVisitor mca = new MutatingClassVisitor(nv, context, filterMethods(),
-                this.mutators, cci, this.byteSource, this.classHierarchy);
+                this.mutators, cci, this.byteSource, this.classHierarchy, this.suspChecker);
         first.accept(mca, ClassReader.EXPAND_FRAMES);
         return FCollection.filter(context.getCollectedMutations(), effectiveMutationChecker());
     }
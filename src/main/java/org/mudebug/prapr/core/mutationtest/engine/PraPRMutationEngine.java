@@ -22,7 +22,9 @@ package org.mudebug.prapr.core.mutationtest.engine;
 
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.MinionStartupLog;
 import org.mudebug.prapr.core.mutationtest.engine.config.PraPRMutationEngineConfig;
+import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfoCache;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
@@ -49,16 +51,38 @@ public class PraPRMutationEngine implements MutationEngine {
 
     private final GlobalInfo classHierarchy;
 
+    private final MinionStartupLog startupLog;
+
+    private CollectedClassInfoCache classInfoCache;
+
     public PraPRMutationEngine(PraPRMutationEngineConfig config) {
         this.methodFilter = config.methodFilter();
         this.mutators = new LinkedHashSet<>(config.mutators());
         this.suspChecker = config.getSuspChecker();
         this.classHierarchy = config.getClassHierarchy();
+        this.startupLog = config.getStartupLog();
     }
 
     @Override
     public Mutater createMutator(ClassByteArraySource source) {
-        return new PraPRMutater(this.methodFilter, this.mutators, source, this.suspChecker, this.classHierarchy);
+        return new PraPRMutater(this.methodFilter, this.mutators, classInfoCache(source),
+                this.suspChecker, this.classHierarchy, this.startupLog);
+    }
+
+    // mutaters are created per class, so the cache is kept here in order to be
+    // shared among all the mutaters created for the same byte source
+    private synchronized CollectedClassInfoCache classInfoCache(final ClassByteArraySource source) {
+        if (source instanceof CollectedClassInfoCache) {
+            return (CollectedClassInfoCache) source;
+        }
+        if (this.classInfoCache == null || this.classInfoCache.getSource() != source) {
+            this.classInfoCache = new CollectedClassInfoCache(source);
+        }
+        return this.classInfoCache;
+    }
+
+    public synchronized CollectedClassInfoCache getClassInfoCache() {
+        return this.classInfoCache;
     }
 
     @Override
@@ -0,0 +1,38 @@
+package org.mudebug.prapr.core.mutationtest.engine;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A mutator whose method visitors decide on the mutations of an instruction by looking
+ * at that instruction alone, along with labels, try-catch blocks, and the like, and that
+ * passes every instruction on unchanged during mutant discovery.
+ * During mutant discovery, the instructions on the lines that are not hit by the failing
+ * tests are routed around the visitors of such mutators, which therefore neither see
+ * those instructions nor spend time on them. Mutators that renumber local variables,
+ * e.g., using a <code>LocalVariablesSorter</code>, must see all the instructions and
+ * shall not implement this interface.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public interface SkippableMethodMutatorFactory extends PraPRMethodMutatorFactory {
+}
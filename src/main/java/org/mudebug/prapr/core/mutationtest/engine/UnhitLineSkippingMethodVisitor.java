@@ -0,0 +1,140 @@
+package org.mudebug.prapr.core.mutationtest.engine;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.core.SuspChecker;
+import org.pitest.reloc.asm.Handle;
+import org.pitest.reloc.asm.Label;
+import org.pitest.reloc.asm.MethodVisitor;
+import org.pitest.reloc.asm.Opcodes;
+
+/**
+ * During mutant discovery, routes the instructions on the lines that are not hit by the
+ * failing tests around the visitor of a {@link SkippableMethodMutatorFactory} mutator,
+ * directly to the next visitor in the chain, so that the mutator does not spend time,
+ * e.g., parsing foreign classes, on mutations that would be filtered out anyway.
+ * Everything other than instructions (labels, line numbers, frames, try-catch blocks,
+ * etc.) still goes through the mutator. As the mutator passes instructions on unchanged
+ * during discovery, the rest of the chain sees exactly the same instructions.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+class UnhitLineSkippingMethodVisitor extends MethodVisitor {
+    private final MethodVisitor bypass;
+
+    private final SuspChecker suspChecker;
+
+    private final String className;
+
+    private MethodVisitor target;
+
+    /**
+     * @param mutatorVisitor the visitor of the mutator
+     * @param bypass the visitor next to the visitor of the mutator
+     * @param suspChecker the checker that tells which lines are hit
+     * @param className the name of the class being visited in Java name format
+     */
+    UnhitLineSkippingMethodVisitor(final MethodVisitor mutatorVisitor,
+                                   final MethodVisitor bypass,
+                                   final SuspChecker suspChecker,
+                                   final String className) {
+        super(Opcodes.ASM6, mutatorVisitor);
+        this.bypass = bypass;
+        this.suspChecker = suspChecker;
+        this.className = className;
+        this.target = mutatorVisitor; // instructions before the first line number are not skipped
+    }
+
+    @Override
+    public void visitLineNumber(final int line, final Label start) {
+        super.visitLineNumber(line, start);
+        this.target = this.suspChecker.isHit(this.className, line) ? this.mv : this.bypass;
+    }
+
+    @Override
+    public void visitInsn(final int opcode) {
+        this.target.visitInsn(opcode);
+    }
+
+    @Override
+    public void visitIntInsn(final int opcode, final int operand) {
+        this.target.visitIntInsn(opcode, operand);
+    }
+
+    @Override
+    public void visitVarInsn(final int opcode, final int var) {
+        this.target.visitVarInsn(opcode, var);
+    }
+
+    @Override
+    public void visitTypeInsn(final int opcode, final String type) {
+        this.target.visitTypeInsn(opcode, type);
+    }
+
+    @Override
+    public void visitFieldInsn(final int opcode, final String owner, final String name, final String desc) {
+        this.target.visitFieldInsn(opcode, owner, name, desc);
+    }
+
+    @Override
+    public void visitMethodInsn(final int opcode, final String owner, final String name, final String desc,
+                                final boolean itf) {
+        this.target.visitMethodInsn(opcode, owner, name, desc, itf);
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(final String name, final String desc, final Handle bsm,
+                                       final Object... bsmArgs) {
+        this.target.visitInvokeDynamicInsn(name, desc, bsm, bsmArgs);
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+        this.target.visitJumpInsn(opcode, label);
+    }
+
+    @Override
+    public void visitLdcInsn(final Object cst) {
+        this.target.visitLdcInsn(cst);
+    }
+
+    @Override
+    public void visitIincInsn(final int var, final int increment) {
+        this.target.visitIincInsn(var, increment);
+    }
+
+    @Override
+    public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels) {
+        this.target.visitTableSwitchInsn(min, max, dflt, labels);
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels) {
+        this.target.visitLookupSwitchInsn(dflt, keys, labels);
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(final String desc, final int dims) {
+        this.target.visitMultiANewArrayInsn(desc, dims);
+    }
+}
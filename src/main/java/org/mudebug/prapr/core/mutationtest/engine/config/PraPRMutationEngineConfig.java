@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine.config;
 
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.MinionStartupLog;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.engine.gregor.MethodInfo;
 import org.pitest.mutationtest.engine.gregor.MethodMutatorFactory;
@@ -40,13 +41,17 @@ public class PraPRMutationEngineConfig extends DefaultMutationEngineConfiguratio
 
     private final GlobalInfo classHierarchy;
 
+    private final MinionStartupLog startupLog;
+
     public PraPRMutationEngineConfig(final Predicate<MethodInfo> filter,
                                      final Collection<? extends MethodMutatorFactory> mutators,
                                      final SuspChecker suspChecker,
-                                     final GlobalInfo classHierarchy) {
+                                     final GlobalInfo classHierarchy,
+                                     final MinionStartupLog startupLog) {
         super(filter, mutators);
         this.suspChecker = suspChecker;
         this.classHierarchy = classHierarchy;
+        this.startupLog = startupLog;
     }
 
     public SuspChecker getSuspChecker() {
@@ -56,4 +61,8 @@ public class PraPRMutationEngineConfig extends DefaultMutationEngineConfiguratio
     public GlobalInfo getClassHierarchy() {
         return this.classHierarchy;
     }
+
+    public MinionStartupLog getStartupLog() {
+        return this.startupLog;
+    }
 }
@@ -21,7 +21,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  */
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
-import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.FusibleMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -41,6 +41,8 @@ import org.pitest.reloc.asm.Opcodes;
 import org.pitest.reloc.asm.Type;
 import org.pitest.reloc.asm.commons.LocalVariablesSorter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -70,7 +72,7 @@ import java.util.Map;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum ArgumentsListMutator implements PraPRMethodMutatorFactory {
+public enum ArgumentsListMutator implements FusibleMethodMutatorFactory {
     ARGUMENT_LIST_MUTATOR_0(0, Preference.DEFVAL, -1),
     ARGUMENT_LIST_MUTATOR_1(1, Preference.DEFVAL, -1),
     ARGUMENT_LIST_MUTATOR_2(0, Preference.LOCAL, 0),
@@ -110,7 +112,17 @@ public enum ArgumentsListMutator implements PraPRMethodMutatorFactory {
         this.preferenceIndex = preferenceIndex;
     }
 
+    Preference getPreference() {
+        return this.preference;
+    }
+
+    int getOverloadIndex() {
+        return this.overloadIndex;
+    }
 
+    int getPreferenceIndex() {
+        return this.preferenceIndex;
+    }
 
     @Override
     public MethodVisitor create(final MutationContext context,
@@ -119,10 +131,29 @@ public enum ArgumentsListMutator implements PraPRMethodMutatorFactory {
                                 final CollectedClassInfo cci,
                                 final ClassByteArraySource cache,
                                 final GlobalInfo classHierarchy) {
-        final PraPRMethodMutatorFactory variant = this;
+        return create(context, methodInfo, methodVisitor, cci, cache, Collections.singletonList(this));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodVisitor createFused(final MutationContext context,
+                                     final MethodInfo methodInfo,
+                                     final MethodVisitor methodVisitor,
+                                     final CollectedClassInfo cci,
+                                     final ClassByteArraySource cache,
+                                     final GlobalInfo classHierarchy,
+                                     final List<? extends FusibleMethodMutatorFactory> variants) {
+        return create(context, methodInfo, methodVisitor, cci, cache, (List<ArgumentsListMutator>) variants);
+    }
+
+    private static MethodVisitor create(final MutationContext context,
+                                        final MethodInfo methodInfo,
+                                        final MethodVisitor methodVisitor,
+                                        final CollectedClassInfo cci,
+                                        final ClassByteArraySource cache,
+                                        final List<ArgumentsListMutator> variants) {
         final ArgumentsListMutatorMethodVisitor almv = new ArgumentsListMutatorMethodVisitor(context,
-                methodInfo, methodVisitor, cci, variant, cache, this.overloadIndex,
-                this.preference, this.preferenceIndex);
+                methodInfo, methodVisitor, cci, variants, cache);
         final int methodAccess = Commons.getMethodAccess(methodInfo);
         almv.lvs = new LocalVariablesSorter(methodAccess, methodInfo.getMethodDescriptor(), almv);
         return almv.lvs;
@@ -147,17 +178,13 @@ public enum ArgumentsListMutator implements PraPRMethodMutatorFactory {
 }
 
 final class ArgumentsListMutatorMethodVisitor extends MethodVisitor {
-    private final PraPRMethodMutatorFactory variant;
+    private final List<ArgumentsListMutator> variants;
 
-    private final MutationContext context;
-
-    private final Preference preference;
+    private final int overloadsCount;
 
-    private final int overloadIndex;
-
-    private final int preferenceIndex;
+    private final MutationContext context;
 
-    private final Map<String, List<PraPRMethodInfo>> mutatedClassMethodsInfo;
+    private final CollectedClassInfo mutatedClassInfo;
 
     private final Map<String, List<FieldInfo>> mutatedClassFieldsInfo;
 
@@ -175,51 +202,47 @@ final class ArgumentsListMutatorMethodVisitor extends MethodVisitor {
                                       final MethodInfo methodInfo,
                                       final MethodVisitor methodVisitor,
                                       final CollectedClassInfo cci,
-                                      final PraPRMethodMutatorFactory variant,
-                                      final ClassByteArraySource cache,
-                                      final int overloadIndex,
-                                      final Preference preference,
-                                      final int preferenceIndex) {
+                                      final List<ArgumentsListMutator> variants,
+                                      final ClassByteArraySource cache) {
         super(Opcodes.ASM6, methodVisitor);
         this.context = context;
-        this.mutatedClassMethodsInfo = cci.methodsInfo;
+        this.mutatedClassInfo = cci;
         this.mutatedClassFieldsInfo = cci.fieldsInfo;
         this.mutatedMethodInfo = methodInfo;
         this.cache = cache;
-        this.variant = variant;
+        this.variants = variants;
+        int overloadsCount = 0;
+        for (final ArgumentsListMutator variant : variants) {
+            overloadsCount = Math.max(overloadsCount, variant.getOverloadIndex() + 1);
+        }
+        this.overloadsCount = overloadsCount;
         this.scopeTracker = new ScopeTracker(cci.findMethod(methodInfo.getName(),
                 methodInfo.getMethodDescriptor()).localsInfo);
-        this.preference = preference;
-        this.overloadIndex = overloadIndex;
-        this.preferenceIndex = preferenceIndex;
         this.owningClassName = Commons.getOwningClassName(methodInfo);
     }
 
-    private String pickOverload(final int opcode,
-                                final String name,
-                                final String excludedDesc,
-                                final Map<String, List<PraPRMethodInfo>> methodsInfo) {
-        int count = 0;
-        for (Map.Entry<String, List<PraPRMethodInfo>> ent : methodsInfo.entrySet()) {
-            final String desc = ent.getKey();
-            if (!desc.equals(excludedDesc) && Type.getReturnType(desc).equals(Type.getReturnType(excludedDesc))) {
-                final List<PraPRMethodInfo> smil = ent.getValue();
-                for (PraPRMethodInfo smi : smil) {
-                    if (smi.name.equals(name)) {
-                        final ClassName mutatedClassName = this.owningClassName;
-                        if (mutatedClassName.equals(smi.owningClassName) || smi.isPublic) {
-                            if ((opcode == Opcodes.INVOKESTATIC) == smi.isStatic) {
-                                if (count == this.overloadIndex) {
-                                    return desc;
-                                }
-                                count++;
-                            }
+    // the i'th descriptor in the returned list is the overload picked by variants with overload index i
+    private List<String> pickOverloads(final int opcode,
+                                       final String name,
+                                       final String excludedDesc,
+                                       final CollectedClassInfo cci) {
+        final List<String> overloads = new ArrayList<>(this.overloadsCount);
+        final Type excludedReturnType = Type.getReturnType(excludedDesc);
+        for (final PraPRMethodInfo smi : cci.methodsNamed(name)) {
+            final String desc = smi.desc;
+            if (!desc.equals(excludedDesc) && smi.returnType.equals(excludedReturnType)) {
+                final ClassName mutatedClassName = this.owningClassName;
+                if (mutatedClassName.equals(smi.owningClassName) || smi.isPublic) {
+                    if ((opcode == Opcodes.INVOKESTATIC) == smi.isStatic) {
+                        overloads.add(desc);
+                        if (overloads.size() == this.overloadsCount) {
+                            return overloads;
                         }
                     }
                 }
             }
         }
-        return null;
+        return overloads;
     }
 
     private int pickLocalVariable(final String desc, final int index) {
@@ -245,7 +268,10 @@ final class ArgumentsListMutatorMethodVisitor extends MethodVisitor {
                 desc, 0, index, this.mutatedMethodInfo.isStatic());
     }
 
-    private void prepareStack(final Type[] asis, final int[] tempLocals, final Type[] tobe) {
+    private void prepareStack(final ArgumentsListMutator variant,
+                              final Type[] asis,
+                              final int[] tempLocals,
+                              final Type[] tobe) {
         final boolean[] used = new boolean[asis.length];
         for (final Type cat : tobe) {
             /* first priority is to use existing argument */
@@ -259,17 +285,17 @@ final class ArgumentsListMutatorMethodVisitor extends MethodVisitor {
             } else {
                 /* fall back to using a default value, field(s), or local(s)*/
                 final String catDesc = cat.getDescriptor();
-                if (this.preference == Preference.FIELD) {
+                if (variant.getPreference() == Preference.FIELD) {
                     /* prefer field(s) over first local and default value */
-                    fieldInfo = pickField(catDesc, this.preferenceIndex); // pick n'th field
+                    fieldInfo = pickField(catDesc, variant.getPreferenceIndex()); // pick n'th field
                     if (fieldInfo == null) { // n'th field not found
                         localIndex = pickLocalVariable(catDesc, 0); // pick first local
                     } else {
                         localIndex = -1;
                     }
                     /* at the end if localIndex < 0, we shall use the default value */
-                } else if (this.preference == Preference.LOCAL) {
-                    localIndex = pickLocalVariable(catDesc, this.preferenceIndex); // pick n'th local
+                } else if (variant.getPreference() == Preference.LOCAL) {
+                    localIndex = pickLocalVariable(catDesc, variant.getPreferenceIndex()); // pick n'th local
                     if (localIndex < 0) { // n'th local not found
                         fieldInfo = pickField(catDesc, 0); // pick first field
                     } else {
@@ -303,31 +329,38 @@ final class ArgumentsListMutatorMethodVisitor extends MethodVisitor {
 
     @Override
     public void visitMethodInsn(int opcode, String ownerInternalName, String name, String desc, boolean itf) {
-        final String descPrime;
+        final List<String> descsPrime;
         if (ownerInternalName.equals(this.owningClassName.asInternalName())) {
-            descPrime = pickOverload(opcode, name, desc, this.mutatedClassMethodsInfo);
+            descsPrime = pickOverloads(opcode, name, desc, this.mutatedClassInfo);
         } else {
             final CollectedClassInfo cci = ClassInfoCollector.collect(this.cache, ownerInternalName);
-            descPrime = pickOverload(opcode, name, desc, cci.methodsInfo);
+            descsPrime = pickOverloads(opcode, name, desc, cci);
         }
-        if (descPrime != null) {
-            final String msg = String.format("replaced call to %s%s with a call to %s%s",
-                    name,
-                    desc,
-                    name,
-                    descPrime);
-            final MutationIdentifier newId = this.context.registerMutation(this.variant, msg);
-            if (this.context.shouldMutate(newId)) {
-                final Type[] asis = Type.getArgumentTypes(desc);
-                final int[] tempLocals = Commons.createTempLocals(this.lvs, asis);
-                Commons.storeValues(this.mv, asis, tempLocals);
-                /* now we have receiver in the stack, in case the call is not static */
-                Type[] tobe = Type.getArgumentTypes(descPrime);
-                prepareStack(asis, tempLocals, tobe);
-                super.visitMethodInsn(opcode, ownerInternalName, name, descPrime, itf);
-            } else {
-                super.visitMethodInsn(opcode, ownerInternalName, name, desc, itf);
+        ArgumentsListMutator mutatingVariant = null;
+        String mutatedDesc = null;
+        for (final ArgumentsListMutator variant : this.variants) {
+            if (variant.getOverloadIndex() < descsPrime.size()) {
+                final String descPrime = descsPrime.get(variant.getOverloadIndex());
+                final String msg = String.format("replaced call to %s%s with a call to %s%s",
+                        name,
+                        desc,
+                        name,
+                        descPrime);
+                final MutationIdentifier newId = this.context.registerMutation(variant, msg);
+                if (this.context.shouldMutate(newId)) {
+                    mutatingVariant = variant;
+                    mutatedDesc = descPrime;
+                }
             }
+        }
+        if (mutatingVariant != null) {
+            final Type[] asis = Type.getArgumentTypes(desc);
+            final int[] tempLocals = Commons.createTempLocals(this.lvs, asis);
+            Commons.storeValues(this.mv, asis, tempLocals);
+            /* now we have receiver in the stack, in case the call is not static */
+            Type[] tobe = Type.getArgumentTypes(mutatedDesc);
+            prepareStack(mutatingVariant, asis, tempLocals, tobe);
+            super.visitMethodInsn(opcode, ownerInternalName, name, mutatedDesc, itf);
         } else {
             super.visitMethodInsn(opcode, ownerInternalName, name, desc, itf);
         }
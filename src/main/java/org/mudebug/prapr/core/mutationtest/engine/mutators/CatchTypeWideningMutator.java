@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
 import org.pitest.classinfo.ClassByteArraySource;
@@ -38,7 +39,7 @@ import java.util.Objects;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum CatchTypeWideningMutator implements PraPRMethodMutatorFactory {
+public enum CatchTypeWideningMutator implements SkippableMethodMutatorFactory {
     CATCH_TYPE_WIDENING_MUTATOR_0,
     CATCH_TYPE_WIDENING_MUTATOR_1,
     CATCH_TYPE_WIDENING_MUTATOR_2,
@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.commons.ImmutablePair;
+import org.mudebug.prapr.core.mutationtest.engine.FusibleMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
@@ -37,15 +38,16 @@ import org.pitest.reloc.asm.Opcodes;
 import org.pitest.reloc.asm.Type;
 import org.pitest.reloc.asm.commons.LocalVariablesSorter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum FactoryMethodMutator implements PraPRMethodMutatorFactory {
+public enum FactoryMethodMutator implements FusibleMethodMutatorFactory {
     FACTORY_METHOD_MUTATOR_0(Preference.PREF_0), // 1st subclass 1st ctor
     FACTORY_METHOD_MUTATOR_1(Preference.PREF_0), // 1st subclass 2nd ctor
     FACTORY_METHOD_MUTATOR_2(Preference.PREF_0), // ...
@@ -73,13 +75,37 @@ public enum FactoryMethodMutator implements PraPRMethodMutatorFactory {
                                 CollectedClassInfo collectedClassInfo,
                                 ClassByteArraySource cache,
                                 GlobalInfo classHierarchy) {
+        return create(context, methodInfo, methodVisitor, collectedClassInfo, cache, classHierarchy,
+                Collections.singletonList(this));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodVisitor createFused(MutationContext context,
+                                     MethodInfo methodInfo,
+                                     MethodVisitor methodVisitor,
+                                     CollectedClassInfo collectedClassInfo,
+                                     ClassByteArraySource cache,
+                                     GlobalInfo classHierarchy,
+                                     List<? extends FusibleMethodMutatorFactory> variants) {
+        return create(context, methodInfo, methodVisitor, collectedClassInfo, cache, classHierarchy,
+                (List<FactoryMethodMutator>) variants);
+    }
+
+    private static MethodVisitor create(MutationContext context,
+                                        MethodInfo methodInfo,
+                                        MethodVisitor methodVisitor,
+                                        CollectedClassInfo collectedClassInfo,
+                                        ClassByteArraySource cache,
+                                        GlobalInfo classHierarchy,
+                                        List<FactoryMethodMutator> variants) {
         if (methodInfo.isConstructor()) {
             return new MethodVisitor(Opcodes.ASM6, methodVisitor) {
                 /*do nothing*/
             };
         }
         final FactoryMethodMutatorMethodVisitor fmmmv = new FactoryMethodMutatorMethodVisitor(context,
-                methodVisitor, methodInfo, collectedClassInfo, cache, this, classHierarchy);
+                methodVisitor, methodInfo, collectedClassInfo, cache, variants, classHierarchy);
         final int methodAccess = Commons.getMethodAccess(methodInfo);
         fmmmv.lvs = new LocalVariablesSorter(methodAccess, methodInfo.getMethodDescriptor(), fmmmv);
         return fmmmv.lvs;
@@ -120,9 +146,13 @@ public enum FactoryMethodMutator implements PraPRMethodMutatorFactory {
 }
 
 class FactoryMethodMutatorMethodVisitor extends MethodVisitor {
-    private final Map<String, List<PraPRMethodInfo>> mutatedClassMethodsInfo;
+    private final CollectedClassInfo mutatedClassInfo;
 
-    private final FactoryMethodMutator variant;
+    private final List<FactoryMethodMutator> variants;
+
+    private final int classesCount;
+
+    private final int constructorsCount;
 
     private final ClassName mutatedClassName;
 
@@ -139,13 +169,21 @@ class FactoryMethodMutatorMethodVisitor extends MethodVisitor {
                                       MethodInfo methodInfo,
                                       CollectedClassInfo cci,
                                       ClassByteArraySource cache,
-                                      FactoryMethodMutator variant,
+                                      List<FactoryMethodMutator> variants,
                                       GlobalInfo classHierarchy) {
         super(Opcodes.ASM6, methodVisitor);
         this.context = context;
-        this.mutatedClassMethodsInfo = cci.methodsInfo;
+        this.mutatedClassInfo = cci;
         this.cba = cache;
-        this.variant = variant;
+        this.variants = variants;
+        int classesCount = 0;
+        int constructorsCount = 0;
+        for (final FactoryMethodMutator variant : variants) {
+            classesCount = Math.max(classesCount, variant.getOrdinal() + 1);
+            constructorsCount = Math.max(constructorsCount, variant.getPreferenceOrdinal() + 1);
+        }
+        this.classesCount = classesCount;
+        this.constructorsCount = constructorsCount;
         this.mutatedClassName = Commons.getOwningClassName(methodInfo);
         this.ch = classHierarchy;
     }
@@ -154,38 +192,43 @@ class FactoryMethodMutatorMethodVisitor extends MethodVisitor {
         return type.getSort() == Type.OBJECT;
     }
 
-    private ClassName pickClass(final String superName) {
-        final int o = this.variant.getOrdinal() - 1;
-        if (o < 0) {
-            return ClassName.fromString(superName);
-        } else {
+    // the i'th class in the returned list is the class picked by variants with ordinal i
+    // within their preference
+    private List<ClassName> pickClasses(final String superName) {
+        final List<ClassName> classes = new ArrayList<>(this.classesCount);
+        classes.add(ClassName.fromString(superName));
+        if (this.classesCount > 1) {
             final String[] subClasses = ch.subclassesOf(superName);
             if (subClasses != null) {
-                if (o < subClasses.length) {
-                    return ClassName.fromString(subClasses[o]);
+                for (int o = 0; o < subClasses.length && classes.size() < this.classesCount; o++) {
+                    classes.add(ClassName.fromString(subClasses[o]));
                 }
             }
         }
-        return null;
+        return classes;
     }
 
-    private ImmutablePair<String, PraPRMethodInfo> pickConstructor(final boolean isPublic,
-                                                                   final Map<String, List<PraPRMethodInfo>> methInfo) {
-        int count = 0;
-        for (final Map.Entry<String, List<PraPRMethodInfo>> ent : methInfo.entrySet()) {
-            final String desc = ent.getKey();
-            if (Type.getReturnType(desc).getSort() == Type.VOID) { // constructors return void
-                for (final PraPRMethodInfo mi : ent.getValue()) {
-                    if ((!isPublic || mi.isPublic) && mi.name.equals("<init>")) {
-                        if (count == variant.getPreferenceOrdinal()) {
-                            return new ImmutablePair<>(desc, mi);
-                        }
-                        count++;
-                    }
+    // the i'th constructor in the returned list is the one picked by variants with preference i
+    private List<ImmutablePair<String, PraPRMethodInfo>> pickConstructors(final boolean isPublic,
+                                                                          final CollectedClassInfo cci) {
+        final List<ImmutablePair<String, PraPRMethodInfo>> ctors = new ArrayList<>(this.constructorsCount);
+        for (final PraPRMethodInfo mi : cci.constructors()) {
+            if (!isPublic || mi.isPublic) {
+                ctors.add(new ImmutablePair<>(mi.desc, mi));
+                if (ctors.size() == this.constructorsCount) {
+                    return ctors;
                 }
             }
         }
-        return null;
+        return ctors;
+    }
+
+    private List<ImmutablePair<String, PraPRMethodInfo>> pickConstructors(final ClassName className) {
+        if (mutatedClassName.equals(className)) {
+            return pickConstructors(false, mutatedClassInfo);
+        }
+        final CollectedClassInfo cci = ClassInfoCollector.collect(cba, className.asInternalName());
+        return pickConstructors(true, cci);
     }
 
     private boolean isClassObject(final Type type) {
@@ -235,49 +278,50 @@ class FactoryMethodMutatorMethodVisitor extends MethodVisitor {
     public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
         final Type returnType = Type.getReturnType(desc);
         if (isNonArrayObjectType(returnType)) {
-            final ClassName returnTypeClassName = pickClass(returnType.getInternalName());
-            if (returnTypeClassName != null) {
-                final Map<String, List<PraPRMethodInfo>> methInfo;
-                final boolean isPublic;
-                if (mutatedClassName.equals(returnTypeClassName)) {
-                    methInfo = mutatedClassMethodsInfo;
-                    isPublic = false;
-                } else {
-                    final CollectedClassInfo cci = ClassInfoCollector.collect(cba, returnTypeClassName.asInternalName());
-                    methInfo = cci.methodsInfo;
-                    isPublic = true;
-                }
-                final ImmutablePair<String, PraPRMethodInfo> ctor = pickConstructor(isPublic, methInfo);
-                if (ctor != null) {
-                    final String msg = String.format("the call to factory method %s.%s%s is "
-                                    + "replaced by an instantiation of type %s using %s",
-                            owner.replace('/', '.'),
-                            name,
-                            desc,
-                            returnTypeClassName.asJavaName(),
-                            ctor.getFirst());
-                    final MutationIdentifier newId = this.context.registerMutation(this.variant, msg);
-                    if (this.context.shouldMutate(newId)) {
-                        final Type[] asis = Type.getArgumentTypes(desc);
-                        final int[] tempLocals = Commons.createTempLocals(lvs, asis);
-                        Commons.storeValues(this.mv, asis, tempLocals);
-                        if (!Commons.isStaticCall(opcode)) {
-                            super.visitInsn(Opcodes.POP); //get rid of any receiver object
+            final List<ClassName> classes = pickClasses(returnType.getInternalName());
+            final List<List<ImmutablePair<String, PraPRMethodInfo>>> ctorsPerClass =
+                    new ArrayList<>(Collections.<List<ImmutablePair<String, PraPRMethodInfo>>>nCopies(classes.size(), null));
+            ImmutablePair<String, PraPRMethodInfo> mutatedCtor = null;
+            for (final FactoryMethodMutator variant : this.variants) {
+                final int classIndex = variant.getOrdinal();
+                if (classIndex < classes.size()) {
+                    final ClassName returnTypeClassName = classes.get(classIndex);
+                    List<ImmutablePair<String, PraPRMethodInfo>> ctors = ctorsPerClass.get(classIndex);
+                    if (ctors == null) {
+                        ctors = pickConstructors(returnTypeClassName);
+                        ctorsPerClass.set(classIndex, ctors);
+                    }
+                    if (variant.getPreferenceOrdinal() < ctors.size()) {
+                        final ImmutablePair<String, PraPRMethodInfo> ctor = ctors.get(variant.getPreferenceOrdinal());
+                        final String msg = String.format("the call to factory method %s.%s%s is "
+                                        + "replaced by an instantiation of type %s using %s",
+                                owner.replace('/', '.'),
+                                name,
+                                desc,
+                                returnTypeClassName.asJavaName(),
+                                ctor.getFirst());
+                        final MutationIdentifier newId = this.context.registerMutation(variant, msg);
+                        if (this.context.shouldMutate(newId)) {
+                            mutatedCtor = ctor;
                         }
-                        final String toBeInstantiatedInternalName = ctor.getSecond().owningClassName.asInternalName();
-                        super.visitTypeInsn(Opcodes.NEW, toBeInstantiatedInternalName);
-                        super.visitInsn(Opcodes.DUP);
-                        final Type[] tobe = Type.getArgumentTypes(ctor.getFirst());
-                        prepareStack(asis, tempLocals, tobe);
-                        super.visitMethodInsn(Opcodes.INVOKESPECIAL,
-                                toBeInstantiatedInternalName,
-                                "<init>", ctor.getFirst(), false);
-                    } else {
-                        super.visitMethodInsn(opcode, owner, name, desc, itf);
                     }
-                } else {
-                    super.visitMethodInsn(opcode, owner, name, desc, itf);
                 }
+            }
+            if (mutatedCtor != null) {
+                final Type[] asis = Type.getArgumentTypes(desc);
+                final int[] tempLocals = Commons.createTempLocals(lvs, asis);
+                Commons.storeValues(this.mv, asis, tempLocals);
+                if (!Commons.isStaticCall(opcode)) {
+                    super.visitInsn(Opcodes.POP); //get rid of any receiver object
+                }
+                final String toBeInstantiatedInternalName = mutatedCtor.getSecond().owningClassName.asInternalName();
+                super.visitTypeInsn(Opcodes.NEW, toBeInstantiatedInternalName);
+                super.visitInsn(Opcodes.DUP);
+                final Type[] tobe = Type.getArgumentTypes(mutatedCtor.getFirst());
+                prepareStack(asis, tempLocals, tobe);
+                super.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                        toBeInstantiatedInternalName,
+                        "<init>", mutatedCtor.getFirst(), false);
             } else {
                 super.visitMethodInsn(opcode, owner, name, desc, itf);
             }
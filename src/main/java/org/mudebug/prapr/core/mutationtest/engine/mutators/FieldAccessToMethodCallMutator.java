@@ -21,12 +21,11 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  */
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.commons.ImmutablePair;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -44,7 +43,7 @@ import org.pitest.reloc.asm.Type;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum FieldAccessToMethodCallMutator implements PraPRMethodMutatorFactory {
+public enum FieldAccessToMethodCallMutator implements SkippableMethodMutatorFactory {
     FIELD_ACCESS_TO_METHOD_CALL_MUTATOR_0,
     FIELD_ACCESS_TO_METHOD_CALL_MUTATOR_1,
     FIELD_ACCESS_TO_METHOD_CALL_MUTATOR_2,
@@ -84,7 +83,7 @@ public enum FieldAccessToMethodCallMutator implements PraPRMethodMutatorFactory
 }
 
 class FieldAccessToMethodCallMethodVisitor extends MethodVisitor {
-    private final Map<String, List<PraPRMethodInfo>> mutatedClassMethodsInfo;
+    private final CollectedClassInfo mutatedClassInfo;
 
     private final FieldAccessToMethodCallMutator variant;
 
@@ -109,7 +108,7 @@ class FieldAccessToMethodCallMethodVisitor extends MethodVisitor {
         this.context = context;
         this.variant = variant;
         this.mutatedMethodInfo = methodInfo;
-        this.mutatedClassMethodsInfo = cci.methodsInfo;
+        this.mutatedClassInfo = cci;
         this.cba = cba;
         this.isInterface = itf;
         this.owningClassName = Commons.getOwningClassName(methodInfo);
@@ -117,20 +116,16 @@ class FieldAccessToMethodCallMethodVisitor extends MethodVisitor {
 
     private ImmutablePair<String, PraPRMethodInfo> pickGetterMethod(final Type returnType,
                                                                     final boolean staticGetter,
-                                                                    final Map<String, List<PraPRMethodInfo>> methodsInfo) {
+                                                                    final CollectedClassInfo cci) {
         int count = 0;
-        for (Map.Entry<String, List<PraPRMethodInfo>> ent : methodsInfo.entrySet()) {
-            final String desc = ent.getKey();
-            if (Type.getReturnType(desc).equals(returnType) && Type.getArgumentTypes(desc).length == 0) {
-                final List<PraPRMethodInfo> smil = ent.getValue();
-                for (PraPRMethodInfo smi : smil) {
-                    if (this.owningClassName.equals(smi.owningClassName) || smi.isPublic) {
-                        if ((!mutatedMethodInfo.isStatic() || smi.isStatic) && (staticGetter == smi.isStatic)) {
-                            if (count == variant.ordinal()) {
-                                return new ImmutablePair<>(desc, smi);
-                            }
-                            count++;
+        for (final PraPRMethodInfo smi : cci.methodsReturning(returnType)) {
+            if (smi.argumentTypes.length == 0) {
+                if (this.owningClassName.equals(smi.owningClassName) || smi.isPublic) {
+                    if ((!mutatedMethodInfo.isStatic() || smi.isStatic) && (staticGetter == smi.isStatic)) {
+                        if (count == variant.ordinal()) {
+                            return new ImmutablePair<>(smi.desc, smi);
                         }
+                        count++;
                     }
                 }
             }
@@ -140,24 +135,19 @@ class FieldAccessToMethodCallMethodVisitor extends MethodVisitor {
 
     private ImmutablePair<String, PraPRMethodInfo> pickSetterMethod(final Type paramType,
                                                                     final boolean staticSetter,
-                                                                    final Map<String, List<PraPRMethodInfo>> methodsInfo) {
+                                                                    final CollectedClassInfo cci) {
         int count = 0;
-        for (Map.Entry<String, List<PraPRMethodInfo>> ent : methodsInfo.entrySet()) {
-            final String desc = ent.getKey();
-            final Type[] argTypes = Type.getArgumentTypes(desc);
-            if (Type.getReturnType(desc).getSort() == Type.VOID
-                    && argTypes.length == 1 && argTypes[0].equals(paramType)) {
-                final List<PraPRMethodInfo> smil = ent.getValue();
-                for (PraPRMethodInfo smi : smil) {
-                    if (!smi.name.equals("<init>")) {
-                        if (this.owningClassName.equals(smi.owningClassName) || smi.isPublic) {
-                            if ((!mutatedMethodInfo.isStatic() || smi.isStatic)
-                                    && (!staticSetter || smi.isStatic)) {
-                                if (count == variant.ordinal()) {
-                                    return new ImmutablePair<>(desc, smi);
-                                }
-                                count++;
+        for (final PraPRMethodInfo smi : cci.methodsReturning(Type.VOID_TYPE)) {
+            final Type[] argTypes = smi.argumentTypes;
+            if (argTypes.length == 1 && argTypes[0].equals(paramType)) {
+                if (!smi.name.equals("<init>")) {
+                    if (this.owningClassName.equals(smi.owningClassName) || smi.isPublic) {
+                        if ((!mutatedMethodInfo.isStatic() || smi.isStatic)
+                                && (!staticSetter || smi.isStatic)) {
+                            if (count == variant.ordinal()) {
+                                return new ImmutablePair<>(smi.desc, smi);
                             }
+                            count++;
                         }
                     }
                 }
@@ -191,20 +181,20 @@ class FieldAccessToMethodCallMethodVisitor extends MethodVisitor {
         final boolean itf;
         if (reading(opcode)) {
             if (ownerInternalName.equals(this.owningClassName.asInternalName())) {
-                descSmi = pickGetterMethod(expectedRetType, isStatic(opcode), this.mutatedClassMethodsInfo);
+                descSmi = pickGetterMethod(expectedRetType, isStatic(opcode), this.mutatedClassInfo);
                 itf = this.isInterface;
             } else {
                 final CollectedClassInfo cci = ClassInfoCollector.collect(cba, ownerInternalName);
-                descSmi = pickGetterMethod(expectedRetType, isStatic(opcode), cci.methodsInfo);
+                descSmi = pickGetterMethod(expectedRetType, isStatic(opcode), cci);
                 itf = cci.isInterface();
             }
         } else { // writing
             if (ownerInternalName.equals(this.owningClassName.asInternalName())) {
-                descSmi = pickSetterMethod(expectedRetType, isStatic(opcode), this.mutatedClassMethodsInfo);
+                descSmi = pickSetterMethod(expectedRetType, isStatic(opcode), this.mutatedClassInfo);
                 itf = this.isInterface;
             } else {
                 final CollectedClassInfo cci = ClassInfoCollector.collect(cba, ownerInternalName);
-                descSmi = pickSetterMethod(expectedRetType, isStatic(opcode), cci.methodsInfo);
+                descSmi = pickSetterMethod(expectedRetType, isStatic(opcode), cci);
                 itf = cci.isInterface();
             }
         }
@@ -20,12 +20,16 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.engine.FusibleMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -42,7 +46,7 @@ import org.pitest.reloc.asm.Opcodes;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum FieldNameMutator implements PraPRMethodMutatorFactory {
+public enum FieldNameMutator implements FusibleMethodMutatorFactory, SkippableMethodMutatorFactory {
     FIELD_NAME_MUTATOR_0,
     FIELD_NAME_MUTATOR_1,
     FIELD_NAME_MUTATOR_2,
@@ -57,7 +61,21 @@ public enum FieldNameMutator implements PraPRMethodMutatorFactory {
                                 final CollectedClassInfo cci,
                                 final ClassByteArraySource cache,
                                 final GlobalInfo classHierarchy) {
-        return new FieldNameMutatorMethodVisitor(context, methodVisitor, methodInfo, cci, this, cache);
+        return new FieldNameMutatorMethodVisitor(context, methodVisitor, methodInfo, cci,
+                Collections.singletonList(this), cache);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodVisitor createFused(final MutationContext context,
+                                     final MethodInfo methodInfo,
+                                     final MethodVisitor methodVisitor,
+                                     final CollectedClassInfo cci,
+                                     final ClassByteArraySource cache,
+                                     final GlobalInfo classHierarchy,
+                                     final List<? extends FusibleMethodMutatorFactory> variants) {
+        return new FieldNameMutatorMethodVisitor(context, methodVisitor, methodInfo, cci,
+                (List<FieldNameMutator>) variants, cache);
     }
 
 
@@ -84,7 +102,9 @@ public enum FieldNameMutator implements PraPRMethodMutatorFactory {
 final class FieldNameMutatorMethodVisitor extends MethodVisitor {
     private final MutationContext context;
 
-    private final FieldNameMutator variant;
+    private final List<FieldNameMutator> variants;
+
+    private final int candidatesCount;
 
     private final Map<String, List<FieldInfo>> mutatedClassFieldsInfo;
 
@@ -96,37 +116,39 @@ final class FieldNameMutatorMethodVisitor extends MethodVisitor {
                                   final MethodVisitor methodVisitor,
                                   final MethodInfo methodInfo,
                                   final CollectedClassInfo cci,
-                                  final FieldNameMutator variant,
+                                  final List<FieldNameMutator> variants,
                                   final ClassByteArraySource cache) {
         super(Opcodes.ASM6, methodVisitor);
         this.context = context;
-        this.variant = variant;
+        this.variants = variants;
+        this.candidatesCount = variants.get(variants.size() - 1).ordinal() + 1;
         this.mutatedClassFieldsInfo = cci.fieldsInfo;
         this.mutatedClassName = Commons.getOwningClassName(methodInfo);
         this.cache = cache;
     }
     
-    private String pickFieldName(int opcode,
+    // the i'th name in the returned list is the replacement picked by the i'th variant
+    private List<String> pickFieldNames(int opcode,
             String excludedName,
             String desc,
             Map<String, List<FieldInfo>> fieldsInfo) {
+        final List<String> names = new ArrayList<>(this.candidatesCount);
         final List<FieldInfo> fil = fieldsInfo.get(desc);
         if (fil != null) { // because of performance issues, we don't care about inherited elements
-            int counter = 0;
             for (FieldInfo fi : fil) {
                 if (!fi.name.equals(excludedName)) {
                     if (this.mutatedClassName.equals(fi.owningClassName) || fi.isPublic) {
                         if (isStaticAccess(opcode) == fi.isStatic && (!isStore(opcode) || !fi.isFinal)) {
-                            if (counter == this.variant.ordinal()) {
-                                return fi.name;
+                            names.add(fi.name);
+                            if (names.size() == this.candidatesCount) {
+                                break;
                             }
-                            counter++;
                         }
                     }
                 }
             }
         }
-        return null;
+        return names;
     }
     
     private boolean isStaticAccess(int opcode) {
@@ -139,24 +161,25 @@ final class FieldNameMutatorMethodVisitor extends MethodVisitor {
 
     @Override
     public void visitFieldInsn(int opcode, String ownerInternalName, String name, String desc) {
-        final String namePrime;
+        final List<String> namesPrime;
         // the field that is accessed is in the mutated class
         if (ownerInternalName.equals(this.mutatedClassName.asInternalName())) {
-            namePrime = pickFieldName(opcode, name, desc, this.mutatedClassFieldsInfo);
+            namesPrime = pickFieldNames(opcode, name, desc, this.mutatedClassFieldsInfo);
         } else {
             final CollectedClassInfo cci = ClassInfoCollector.collect(this.cache, ownerInternalName);
-            namePrime = pickFieldName(opcode, name, desc, cci.fieldsInfo);
+            namesPrime = pickFieldNames(opcode, name, desc, cci.fieldsInfo);
         }
-        if (namePrime != null) {
-            final String msg = String.format("replaced access to %s with an access to %s", name, namePrime);
-            final MutationIdentifier newId = context.registerMutation(variant, msg);
-            if (context.shouldMutate(newId)) {
-                super.visitFieldInsn(opcode, ownerInternalName, namePrime, desc);
-            } else {
-                super.visitFieldInsn(opcode, ownerInternalName, name, desc);
+        String mutatedName = name;
+        for (final FieldNameMutator variant : this.variants) {
+            if (variant.ordinal() < namesPrime.size()) {
+                final String namePrime = namesPrime.get(variant.ordinal());
+                final String msg = String.format("replaced access to %s with an access to %s", name, namePrime);
+                final MutationIdentifier newId = context.registerMutation(variant, msg);
+                if (context.shouldMutate(newId)) {
+                    mutatedName = namePrime;
+                }
             }
-        } else {
-            super.visitFieldInsn(opcode, ownerInternalName, name, desc);
         }
+        super.visitFieldInsn(opcode, ownerInternalName, mutatedName, desc);
     }
 }
\ No newline at end of file
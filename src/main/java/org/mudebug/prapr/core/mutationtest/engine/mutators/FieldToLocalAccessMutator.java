@@ -20,12 +20,17 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.engine.FusibleMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.LocalVarInfo;
@@ -43,7 +48,7 @@ import org.pitest.reloc.asm.Type;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum FieldToLocalAccessMutator implements PraPRMethodMutatorFactory {
+public enum FieldToLocalAccessMutator implements FusibleMethodMutatorFactory, SkippableMethodMutatorFactory {
     FIELD_TO_LOCAL_ACCESS_MUTATOR_0,
     FIELD_TO_LOCAL_ACCESS_MUTATOR_1,
     FIELD_TO_LOCAL_ACCESS_MUTATOR_2;
@@ -56,7 +61,20 @@ public enum FieldToLocalAccessMutator implements PraPRMethodMutatorFactory {
                                 final ClassByteArraySource cache,
                                 final GlobalInfo classHierarchy) {
         return new FieldToLocalAccessMutatorMethodVisitor(context,
-                methodInfo, methodVisitor, cci, this, cache);
+                methodInfo, methodVisitor, cci, Collections.singletonList(this), cache);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodVisitor createFused(final MutationContext context,
+                                     final MethodInfo methodInfo,
+                                     final MethodVisitor methodVisitor,
+                                     final CollectedClassInfo cci,
+                                     final ClassByteArraySource cache,
+                                     final GlobalInfo classHierarchy,
+                                     final List<? extends FusibleMethodMutatorFactory> variants) {
+        return new FieldToLocalAccessMutatorMethodVisitor(context,
+                methodInfo, methodVisitor, cci, (List<FieldToLocalAccessMutator>) variants, cache);
     }
 
 
@@ -81,7 +99,9 @@ public enum FieldToLocalAccessMutator implements PraPRMethodMutatorFactory {
 }
 
 class FieldToLocalAccessMutatorMethodVisitor extends MethodVisitor {
-    private final FieldToLocalAccessMutator variant;
+    private final List<FieldToLocalAccessMutator> variants;
+
+    private final int candidatesCount;
 
     private final ClassByteArraySource cache;
 
@@ -93,44 +113,52 @@ class FieldToLocalAccessMutatorMethodVisitor extends MethodVisitor {
                                            final MethodInfo methodInfo,
                                            final MethodVisitor methodVisitor,
                                            final CollectedClassInfo cci,
-                                           final FieldToLocalAccessMutator variant,
+                                           final List<FieldToLocalAccessMutator> variants,
                                            final ClassByteArraySource cache) {
         super(Opcodes.ASM6, methodVisitor);
-        this.variant = variant;
+        this.variants = variants;
+        this.candidatesCount = variants.get(variants.size() - 1).ordinal() + 1;
         this.scopeTracker = 
                 new ScopeTracker(cci.findMethod(methodInfo.getName(), methodInfo.getMethodDescriptor()).localsInfo);
         this.context = context;
         this.cache = cache;
     }
     
-    private LocalVarInfo pickLocalVariable(String desc) {
-        int count = 0;
+    // the i'th local in the returned list is the replacement picked by the i'th variant;
+    // a null element means that the i'th variant has no replacement
+    private List<LocalVarInfo> pickLocalVariables(String desc) {
+        final List<LocalVarInfo> locals = new ArrayList<>(this.candidatesCount);
         for (LocalVarInfo lvi : this.scopeTracker.visibleLocals) {
             if (lvi.typeDescriptor.equals(desc)) {
-                if (this.variant.ordinal() == count) {
-                    return lvi;
+                locals.add(lvi);
+                if (locals.size() == this.candidatesCount) {
+                    return locals;
                 }
-                count++;
             }
         }
+        // variants that found no local of the same type fall back to locals of subtypes
+        final int exactMatches = locals.size();
         final Type desiredType = Type.getType(desc);
         if (desiredType.getSort() == Type.OBJECT) {
-            count = 0;
+            int count = 0;
             for (LocalVarInfo lvi : this.scopeTracker.visibleLocals) {
                 final Type varType = Type.getType(lvi.typeDescriptor);
                 if (varType.getSort() == Type.OBJECT) {
                     final String desiredTypeInternalName = desiredType.getInternalName();
                     final String varTypeInternalName = varType.getInternalName();
                     if (getSuperTypes(varTypeInternalName).contains(desiredTypeInternalName)) {
-                        if (this.variant.ordinal() == count) {
-                            return lvi;
+                        if (count >= exactMatches) {
+                            locals.add(lvi);
+                            if (locals.size() == this.candidatesCount) {
+                                return locals;
+                            }
                         }
                         count++;
                     }
                 }
             }
         }
-        return null;
+        return locals;
     }
 
     private Set<String> getSuperTypes(String typeInternalName) {
@@ -190,41 +218,46 @@ class FieldToLocalAccessMutatorMethodVisitor extends MethodVisitor {
     
     @Override
     public void visitFieldInsn(int opcode, String owner, String name, String desc) {
-        final LocalVarInfo localReplacement = pickLocalVariable(desc);
+        final List<LocalVarInfo> localReplacements = pickLocalVariables(desc);
+        LocalVarInfo localReplacement = null;
+        for (final FieldToLocalAccessMutator variant : this.variants) {
+            if (variant.ordinal() < localReplacements.size()) {
+                final LocalVarInfo lvi = localReplacements.get(variant.ordinal());
+                final String md = String.format("access to field %s is replaced by access to local %s",
+                        name,
+                        lvi.name);
+                final MutationIdentifier newId = context.registerMutation(variant, md);
+                if (context.shouldMutate(newId)) {
+                    localReplacement = lvi;
+                }
+            }
+        }
         if (localReplacement != null) {
-            final String md = String.format("access to field %s is replaced by access to local %s",
-                    name,
-                    localReplacement.name);
-            final MutationIdentifier newId = context.registerMutation(this.variant, md);
-            if (context.shouldMutate(newId)) {
-                final Type type = Type.getType(desc);
-                final int opcodePrime;
-                switch (opcode) {
-                case Opcodes.GETFIELD:
-                    super.visitInsn(Opcodes.POP);
-                case Opcodes.GETSTATIC:
-                    opcodePrime = varLoadOpcodeFor(type);
-                    break;
-                case Opcodes.PUTFIELD:
-                    if (type.getSize() == 1) {
-                        super.visitInsn(Opcodes.SWAP);
-                    } else if (type.getSize() == 2) {
-                        super.visitInsn(Opcodes.DUP2_X1); // swapping a two-worded value with a single-worded one  
-                        super.visitInsn(Opcodes.POP2);
-                    } else {
-                        throw new IllegalArgumentException();
-                    }
-                    super.visitInsn(Opcodes.POP);
-                case Opcodes.PUTSTATIC:
-                    opcodePrime = varStoreOpcodeFor(type);
-                    break;
-                default:
-                    throw new RuntimeException("unexpected opcode");
+            final Type type = Type.getType(desc);
+            final int opcodePrime;
+            switch (opcode) {
+            case Opcodes.GETFIELD:
+                super.visitInsn(Opcodes.POP);
+            case Opcodes.GETSTATIC:
+                opcodePrime = varLoadOpcodeFor(type);
+                break;
+            case Opcodes.PUTFIELD:
+                if (type.getSize() == 1) {
+                    super.visitInsn(Opcodes.SWAP);
+                } else if (type.getSize() == 2) {
+                    super.visitInsn(Opcodes.DUP2_X1); // swapping a two-worded value with a single-worded one  
+                    super.visitInsn(Opcodes.POP2);
+                } else {
+                    throw new IllegalArgumentException();
                 }
-                super.visitVarInsn(opcodePrime, localReplacement.index);
-            } else {
-                super.visitFieldInsn(opcode, owner, name, desc);
+                super.visitInsn(Opcodes.POP);
+            case Opcodes.PUTSTATIC:
+                opcodePrime = varStoreOpcodeFor(type);
+                break;
+            default:
+                throw new RuntimeException("unexpected opcode");
             }
+            super.visitVarInsn(opcodePrime, localReplacement.index);
         } else {
             super.visitFieldInsn(opcode, owner, name, desc);
         }
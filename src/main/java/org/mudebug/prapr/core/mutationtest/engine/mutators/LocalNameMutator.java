@@ -24,6 +24,7 @@ import java.util.Arrays;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.LocalVarInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ScopeTracker;
@@ -39,7 +40,7 @@ import org.pitest.reloc.asm.Opcodes;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum LocalNameMutator implements PraPRMethodMutatorFactory {
+public enum LocalNameMutator implements SkippableMethodMutatorFactory {
     LOCAL_NAME_MUTATOR_0,
     LOCAL_NAME_MUTATOR_1,
     LOCAL_NAME_MUTATOR_2,
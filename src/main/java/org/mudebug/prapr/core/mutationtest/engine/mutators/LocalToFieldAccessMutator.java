@@ -26,6 +26,7 @@ import java.util.Map;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.FieldInfo;
@@ -44,7 +45,7 @@ import org.pitest.reloc.asm.Type;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum LocalToFieldAccessMutator implements PraPRMethodMutatorFactory {
+public enum LocalToFieldAccessMutator implements SkippableMethodMutatorFactory {
     LOCAL_TO_FIELD_ACCESS_MUTATOR_0,
     LOCAL_TO_FIELD_ACCESS_MUTATOR_1,
     LOCAL_TO_FIELD_ACCESS_MUTATOR_2,
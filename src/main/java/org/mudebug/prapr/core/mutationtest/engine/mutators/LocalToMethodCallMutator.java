@@ -23,6 +23,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.commons.ImmutablePair;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -39,14 +40,12 @@ import org.pitest.reloc.asm.Opcodes;
 import org.pitest.reloc.asm.Type;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 
 /**
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum LocalToMethodCallMutator implements PraPRMethodMutatorFactory {
+public enum LocalToMethodCallMutator implements SkippableMethodMutatorFactory {
     LOCAL_TO_METHOD_MUTATOR_0;
 
     @Override
@@ -125,38 +124,33 @@ class LocalToMethCallMethodVisitor extends MethodVisitor {
         return null;
     }
 
-    private ImmutablePair<String, PraPRMethodInfo> pickMethod(final Map<String, List<PraPRMethodInfo>> methodsInfo,
+    private ImmutablePair<String, PraPRMethodInfo> pickMethod(final CollectedClassInfo cci,
                                                               final Type returnType,
                                                               final boolean mustPublic) {
         int count = 0;
-        for (final Map.Entry<String, List<PraPRMethodInfo>> ent : methodsInfo.entrySet()) {
-            final String desc = ent.getKey();
-            if (Type.getReturnType(desc).equals(returnType)) {
-                for (final PraPRMethodInfo methodInfo : ent.getValue()) {
-                    if (isUseless(methodInfo.name)) {
-                        continue;
+        for (final PraPRMethodInfo methodInfo : cci.methodsReturning(returnType)) {
+            if (isUseless(methodInfo.name)) {
+                continue;
+            }
+            if (!mustPublic || methodInfo.isPublic) {
+                final Type[] argTypes = methodInfo.argumentTypes;
+                if (methodInfo.isStatic) {
+                    // var --> static_method(var)
+                    // the method should return a value
+                    // whose type is equal to that of var
+                    if (argTypes.length == 1
+                            && argTypes[0].equals(returnType)) {
+                        if (count == this.variant.ordinal()) {
+                            return new ImmutablePair<>(methodInfo.desc, methodInfo);
+                        }
+                        count++;
                     }
-                    if (!mustPublic || methodInfo.isPublic) {
-                        final Type[] argTypes = Type.getArgumentTypes(desc);
-                        if (methodInfo.isStatic) {
-                            // var --> static_method(var)
-                            // the method should return a value
-                            // whose type is equal to that of var
-                            if (argTypes.length == 1
-                                    && argTypes[0].equals(returnType)) {
-                                if (count == this.variant.ordinal()) {
-                                    return new ImmutablePair<>(desc, methodInfo);
-                                }
-                                count++;
-                            }
-                        } else if (!this.mustStatic) {
-                            if (argTypes.length == 0) {
-                                if (count == this.variant.ordinal()) {
-                                    return new ImmutablePair<>(desc, methodInfo);
-                                }
-                                count++;
-                            }
+                } else if (!this.mustStatic) {
+                    if (argTypes.length == 0) {
+                        if (count == this.variant.ordinal()) {
+                            return new ImmutablePair<>(methodInfo.desc, methodInfo);
                         }
+                        count++;
                     }
                 }
             }
@@ -191,7 +185,7 @@ class LocalToMethCallMethodVisitor extends MethodVisitor {
                     itf = cci.isInterface();
                 }
                 final ImmutablePair<String, PraPRMethodInfo> smiPair;
-                smiPair = pickMethod(cci.methodsInfo, localType, mustPublic);
+                smiPair = pickMethod(cci, localType, mustPublic);
                 if (smiPair != null) {
                     final String methodDesc = smiPair.getFirst();
                     final PraPRMethodInfo methodInfo = smiPair.getSecond();
@@ -20,12 +20,16 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.mutationtest.engine.FusibleMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.ClassInfoCollector;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
@@ -42,7 +46,7 @@ import org.pitest.reloc.asm.Opcodes;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum MethodNameMutator implements PraPRMethodMutatorFactory {
+public enum MethodNameMutator implements FusibleMethodMutatorFactory, SkippableMethodMutatorFactory {
     METHOD_NAME_MUTATOR_0,
     METHOD_NAME_MUTATOR_1,
     METHOD_NAME_MUTATOR_2,
@@ -63,7 +67,20 @@ public enum MethodNameMutator implements PraPRMethodMutatorFactory {
                                 final GlobalInfo classHierarchy) {
         final MethodNameMutator variant = this;
         return new MethodNameMutatorMethodVisitor(context, methodInfo,
-                methodVisitor, cci, cache, variant);
+                methodVisitor, cci, cache, Collections.singletonList(variant));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodVisitor createFused(final MutationContext context,
+                                     final MethodInfo methodInfo,
+                                     final MethodVisitor methodVisitor,
+                                     final CollectedClassInfo cci,
+                                     final ClassByteArraySource cache,
+                                     final GlobalInfo classHierarchy,
+                                     final List<? extends FusibleMethodMutatorFactory> variants) {
+        return new MethodNameMutatorMethodVisitor(context, methodInfo,
+                methodVisitor, cci, cache, (List<MethodNameMutator>) variants);
     }
 
 
@@ -90,7 +107,9 @@ public enum MethodNameMutator implements PraPRMethodMutatorFactory {
 class MethodNameMutatorMethodVisitor extends MethodVisitor {
     private final MutationContext context;
 
-    private final MethodNameMutator variant;
+    private final List<MethodNameMutator> variants;
+
+    private final int candidatesCount;
 
     private final Map<String, List<PraPRMethodInfo>> mutatedClassMethodsInfo;
 
@@ -103,37 +122,39 @@ class MethodNameMutatorMethodVisitor extends MethodVisitor {
                                    final MethodVisitor methodVisitor,
                                    final CollectedClassInfo cci,
                                    final ClassByteArraySource cache,
-                                   final MethodNameMutator variant) {
+                                   final List<MethodNameMutator> variants) {
         super(Opcodes.ASM6, methodVisitor);
         this.context = context;
-        this.variant = variant;
+        this.variants = variants;
+        this.candidatesCount = variants.get(variants.size() - 1).ordinal() + 1;
         this.mutatedClassMethodsInfo = cci.methodsInfo;
         this.mutatedClassName = Commons.getOwningClassName(methodInfo);
         this.cache = cache;
     }
     
-    private String pickMethodName(final int opcode,
-                                  final String excludedName,
-                                  final String desc,
-                                  final Map<String, List<PraPRMethodInfo>> methodsInfo) {
+    // the i'th name in the returned list is the replacement picked by the i'th variant
+    private List<String> pickMethodNames(final int opcode,
+                                         final String excludedName,
+                                         final String desc,
+                                         final Map<String, List<PraPRMethodInfo>> methodsInfo) {
+        final List<String> names = new ArrayList<>(this.candidatesCount);
         final List<PraPRMethodInfo> smil = methodsInfo.get(desc);
         if (smil != null) { // because of performance issues, we don't care about inherited elements
-            int counter = 0;
             for (final PraPRMethodInfo smi : smil) {
                 final String name = smi.name;
                 if (!name.equals(excludedName) && !isInitializer(name)) {
                     if (this.mutatedClassName.equals(smi.owningClassName) || smi.isPublic) {
                         if ((opcode == Opcodes.INVOKESTATIC) == smi.isStatic) {
-                            if (counter == this.variant.ordinal()) {
-                                return name;
+                            names.add(name);
+                            if (names.size() == this.candidatesCount) {
+                                break;
                             }
-                            counter++;
                         }
                     }
                 }
             }
         }
-        return null;
+        return names;
     }
     
     private boolean isInitializer(String methodName) {
@@ -145,24 +166,25 @@ class MethodNameMutatorMethodVisitor extends MethodVisitor {
         if (MethodInfo.isConstructor(name)) {
             super.visitMethodInsn(opcode, ownerInternalName, name, desc, itf);
         } else {
-            final String namePrime;
+            final List<String> namesPrime;
             if (ownerInternalName.equals(this.mutatedClassName.asInternalName())) {
-                namePrime = pickMethodName(opcode, name, desc, this.mutatedClassMethodsInfo);
+                namesPrime = pickMethodNames(opcode, name, desc, this.mutatedClassMethodsInfo);
             } else {
                 final CollectedClassInfo cci = ClassInfoCollector.collect(this.cache, ownerInternalName);
-                namePrime = pickMethodName(opcode, name, desc, cci.methodsInfo);
+                namesPrime = pickMethodNames(opcode, name, desc, cci.methodsInfo);
             }
-            if (namePrime != null) {
-                final String msg = String.format("replaced call to %s with a call to %s", name, namePrime);
-                final MutationIdentifier newId = this.context.registerMutation(this.variant, msg);
-                if (this.context.shouldMutate(newId)) {
-                    super.visitMethodInsn(opcode, ownerInternalName, namePrime, desc, itf);
-                } else {
-                    super.visitMethodInsn(opcode, ownerInternalName, name, desc, itf);
+            String mutatedName = name;
+            for (final MethodNameMutator variant : this.variants) {
+                if (variant.ordinal() < namesPrime.size()) {
+                    final String namePrime = namesPrime.get(variant.ordinal());
+                    final String msg = String.format("replaced call to %s with a call to %s", name, namePrime);
+                    final MutationIdentifier newId = this.context.registerMutation(variant, msg);
+                    if (this.context.shouldMutate(newId)) {
+                        mutatedName = namePrime;
+                    }
                 }
-            } else {
-                super.visitMethodInsn(opcode, ownerInternalName, name, desc, itf);
             }
+            super.visitMethodInsn(opcode, ownerInternalName, mutatedName, desc, itf);
         }
     }
 }
\ No newline at end of file
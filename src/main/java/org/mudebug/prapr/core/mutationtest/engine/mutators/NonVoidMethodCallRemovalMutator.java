@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
 import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.FieldInfo;
@@ -49,7 +50,7 @@ import static org.mudebug.prapr.core.mutationtest.engine.mutators.util.Preferenc
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum NonVoidMethodCallRemovalMutator implements PraPRMethodMutatorFactory {
+public enum NonVoidMethodCallRemovalMutator implements SkippableMethodMutatorFactory {
     NON_VOID_METHOD_CALL_MUTATOR_0(DEFVAL, -1),
     NON_VOID_METHOD_CALL_MUTATOR_1(LOCAL, 0),
     NON_VOID_METHOD_CALL_MUTATOR_3(FIELD, 0);
@@ -21,7 +21,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators;
  */
 
 import org.mudebug.prapr.core.analysis.GlobalInfo;
-import org.mudebug.prapr.core.mutationtest.engine.PraPRMethodMutatorFactory;
+import org.mudebug.prapr.core.mutationtest.engine.SkippableMethodMutatorFactory;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.CollectedClassInfo;
 import org.mudebug.prapr.core.mutationtest.engine.mutators.util.Commons;
 import org.pitest.classinfo.ClassByteArraySource;
@@ -40,7 +40,7 @@ import java.util.List;
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
  */
-public enum PreconditionAdditionMutator implements PraPRMethodMutatorFactory {
+public enum PreconditionAdditionMutator implements SkippableMethodMutatorFactory {
     PRECONDITION_ADDITION_MUTATOR;
 
     @Override
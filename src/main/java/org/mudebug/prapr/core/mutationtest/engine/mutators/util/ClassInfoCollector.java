@@ -42,6 +42,9 @@ public class ClassInfoCollector {
 
     public static CollectedClassInfo collect(final ClassByteArraySource cache,
                                              final String className) {
+        if (cache instanceof CollectedClassInfoCache && !className.startsWith("[")) {
+            return ((CollectedClassInfoCache) cache).collect(className);
+        }
         if (className.startsWith("[")) { // className is an array type descriptor
             return new CollectedClassInfo();
         } else { //className is the internal name of some class
@@ -20,6 +20,10 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators.util;
  * #L%
  */
 
+import org.pitest.reloc.asm.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,11 +44,70 @@ public class CollectedClassInfo {
     /*method descriptor -> list of MethodInfo*/
     public final Map<String, List<PraPRMethodInfo>> methodsInfo;
 
+    /*secondary indexes over methodsInfo; each list preserves the iteration order of methodsInfo*/
+    private Map<String, List<PraPRMethodInfo>> methodsByName;
+
+    private Map<Type, List<PraPRMethodInfo>> methodsByReturnType;
+
+    private List<PraPRMethodInfo> constructors;
+
     private boolean itf;
 
     CollectedClassInfo() {
         fieldsInfo = new HashMap<>();
         methodsInfo = new HashMap<>();
+        methodsByName = Collections.emptyMap();
+        methodsByReturnType = Collections.emptyMap();
+        constructors = Collections.emptyList();
+    }
+
+    /**
+     * Builds the secondary indexes.
+     * This method is called once all the methods are collected; since mutators pick
+     * the n'th candidate in the iteration order of <code>methodsInfo</code>, the indexes
+     * list the methods in that very order.
+     */
+    void buildIndexes() {
+        final Map<String, List<PraPRMethodInfo>> byName = new HashMap<>();
+        final Map<Type, List<PraPRMethodInfo>> byReturnType = new HashMap<>();
+        final List<PraPRMethodInfo> ctors = new ArrayList<>();
+        for (final List<PraPRMethodInfo> mil : this.methodsInfo.values()) {
+            for (final PraPRMethodInfo mi : mil) {
+                append(byName, mi.name, mi);
+                append(byReturnType, mi.returnType, mi);
+                if (mi.name.equals("<init>")) {
+                    ctors.add(mi);
+                }
+            }
+        }
+        this.methodsByName = byName;
+        this.methodsByReturnType = byReturnType;
+        this.constructors = ctors;
+    }
+
+    private static <K> void append(final Map<K, List<PraPRMethodInfo>> index,
+                                   final K key,
+                                   final PraPRMethodInfo mi) {
+        List<PraPRMethodInfo> mil = index.get(key);
+        if (mil == null) {
+            mil = new ArrayList<>();
+            index.put(key, mil);
+        }
+        mil.add(mi);
+    }
+
+    public List<PraPRMethodInfo> methodsNamed(String name) {
+        final List<PraPRMethodInfo> mil = this.methodsByName.get(name);
+        return mil == null ? Collections.<PraPRMethodInfo>emptyList() : mil;
+    }
+
+    public List<PraPRMethodInfo> methodsReturning(Type returnType) {
+        final List<PraPRMethodInfo> mil = this.methodsByReturnType.get(returnType);
+        return mil == null ? Collections.<PraPRMethodInfo>emptyList() : mil;
+    }
+
+    public List<PraPRMethodInfo> constructors() {
+        return this.constructors;
     }
     
     public PraPRMethodInfo findMethod(String name, String desc) {
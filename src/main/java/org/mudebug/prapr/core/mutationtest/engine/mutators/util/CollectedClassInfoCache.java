@@ -0,0 +1,137 @@
+package org.mudebug.prapr.core.mutationtest.engine.mutators.util;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.functional.Option;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe cache of {@link CollectedClassInfo} objects keyed by internal
+ * class names.
+ * Mutators look up the classes owning the fields and methods they refer to over and over
+ * again; with this cache each such class is read and parsed at most once as long as it is
+ * not evicted.
+ * The cache also acts as the byte source it wraps, so that it can be handed to mutators
+ * in place of the original byte source.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class CollectedClassInfoCache implements ClassByteArraySource {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final ClassByteArraySource source;
+
+    private final Map<String, CollectedClassInfo> entries;
+
+    private final AtomicLong hits;
+
+    private final AtomicLong misses;
+
+    private final AtomicLong evictions;
+
+    public CollectedClassInfoCache(final ClassByteArraySource source) {
+        this(source, DEFAULT_CAPACITY);
+    }
+
+    public CollectedClassInfoCache(final ClassByteArraySource source, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.source = source;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.entries = new LinkedHashMap<String, CollectedClassInfo>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CollectedClassInfo> eldest) {
+                if (size() > capacity) {
+                    CollectedClassInfoCache.this.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public ClassByteArraySource getSource() {
+        return this.source;
+    }
+
+    @Override
+    public Option<byte[]> getBytes(final String className) {
+        return this.source.getBytes(className);
+    }
+
+    /**
+     * Returns information about the class <code>internalName</code>.
+     * The class is parsed only if its information is not already cached.
+     *
+     * @param internalName Internal name of the class
+     * @return Collected information about the class
+     */
+    public CollectedClassInfo collect(final String internalName) {
+        synchronized (this.entries) {
+            final CollectedClassInfo cci = this.entries.get(internalName);
+            if (cci != null) {
+                this.hits.incrementAndGet();
+                return cci;
+            }
+        }
+        this.misses.incrementAndGet();
+        // parsing happens outside the lock; two threads racing for the same class
+        // end up with equivalent information, so either of them may win
+        final CollectedClassInfo cci = ClassInfoCollector.collect(this.source, internalName);
+        synchronized (this.entries) {
+            this.entries.put(internalName, cci);
+        }
+        return cci;
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CollectedClassInfoCache{size=%d, hits=%d, misses=%d, evictions=%d}",
+                size(), getHits(), getMisses(), getEvictions());
+    }
+}
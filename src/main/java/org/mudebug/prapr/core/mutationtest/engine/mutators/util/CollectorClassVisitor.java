@@ -95,7 +95,14 @@ class CollectorClassVisitor extends ClassVisitor {
         final MethodVisitor superMethodVisitor = super.visitMethod(access, name, desc, signature, exceptions);
         final CollectorMethodVisitor cmv = new CollectorMethodVisitor(superMethodVisitor);
         /*note: CollectorMethodVisitor::localsInfo is going to be populated later*/
-        infoList.add(new PraPRMethodInfo(access, name, cmv.getLocalsInfo(), this.owningClassName, nullableParams));
+        infoList.add(new PraPRMethodInfo(access, name, desc, cmv.getLocalsInfo(),
+                this.owningClassName, nullableParams));
         return cmv;
     }
+
+    @Override
+    public void visitEnd() {
+        this.cci.buildIndexes();
+        super.visitEnd();
+    }
 }
\ No newline at end of file
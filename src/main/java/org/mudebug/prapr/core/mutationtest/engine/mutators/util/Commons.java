@@ -28,7 +28,6 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.mutationtest.engine.gregor.MethodInfo;
 import org.pitest.reloc.asm.ClassReader;
-import org.pitest.reloc.asm.ClassVisitor;
 import org.pitest.reloc.asm.MethodVisitor;
 import org.pitest.reloc.asm.Opcodes;
 import org.pitest.reloc.asm.Type;
@@ -324,36 +323,11 @@ public final class Commons {
         return opcode == Opcodes.INVOKESTATIC;
     }
 
-    private static class SimpleClassVisitor extends ClassVisitor {
-        private String superName;
-
-        public SimpleClassVisitor() {
-            super(Opcodes.ASM6);
-        }
-
-        @Override
-        public void visit(int version,
-                          int access,
-                          String name,
-                          String signature,
-                          String superName,
-                          String[] interfaces) {
-            this.superName = superName;
-            super.visit(version, access, name, signature, superName, interfaces);
-        }
-
-        public String getSuperName() {
-            return superName;
-        }
-    }
-
     public static String getSupertype(final ClassByteArraySource cache,
                                       final String typeInternalName) {
         final byte[] bytes = cache.getBytes(typeInternalName).value();
-        final SimpleClassVisitor cv = new SimpleClassVisitor();
-        final ClassReader cr = new ClassReader(bytes);
-        cr.accept(cv, ClassReader.EXPAND_FRAMES);
-        return cv.getSuperName();
+        // the super name is read off the class header; there is no need to visit the class
+        return new ClassReader(bytes).getSuperName();
     }
 
     /**
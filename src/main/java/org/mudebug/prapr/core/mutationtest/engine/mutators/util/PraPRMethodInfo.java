@@ -22,6 +22,7 @@ package org.mudebug.prapr.core.mutationtest.engine.mutators.util;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.reloc.asm.Opcodes;
+import org.pitest.reloc.asm.Type;
 
 import java.util.List;
 
@@ -32,6 +33,13 @@ import java.util.List;
 public class PraPRMethodInfo {
     public final String name;
 
+    public final String desc;
+
+    /*parsed once at collection time, so that mutators do not need to parse desc over and over again*/
+    public final Type returnType;
+
+    public final Type[] argumentTypes;
+
     public final boolean isStatic;
 
     public final boolean isPublic;
@@ -48,10 +56,14 @@ public class PraPRMethodInfo {
 
     PraPRMethodInfo(final int access,
                     final String name,
+                    final String desc,
                     final List<LocalVarInfo> localsInfo,
                     final ClassName owningClassName,
                     final List<Integer> nullableParamIndices) {
         this.name = name;
+        this.desc = desc;
+        this.returnType = Type.getReturnType(desc);
+        this.argumentTypes = Type.getArgumentTypes(desc);
         this.isStatic = (access & Opcodes.ACC_STATIC) != 0;
         this.isPublic = (access & Opcodes.ACC_PUBLIC) != 0;
         this.isPrivate = (access & Opcodes.ACC_PRIVATE) != 0;
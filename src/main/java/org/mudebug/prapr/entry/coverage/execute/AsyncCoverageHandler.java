@@ -0,0 +1,185 @@
+package org.mudebug.prapr.entry.coverage.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.SideEffect1;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Logger;
+
+/**
+ * Hands coverage results off from the threads reading minion sockets to a single
+ * aggregation thread through a bounded queue, so that the minions are not slowed
+ * down by the bookkeeping done in the main process for each test. The socket
+ * threads only block if the aggregation thread falls behind by a full queue.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+final class AsyncCoverageHandler implements SideEffect1<CoverageResult> {
+    private static final Logger LOG = Log.getLogger();
+
+    private static final int QUEUE_CAPACITY = 4096;
+
+    // tells the aggregation thread to stop
+    private static final CoverageResult END = new CoverageResult(null, 0, true, null);
+
+    private final SideEffect1<CoverageResult> handler;
+
+    private final BlockingQueue<CoverageResult> queue;
+
+    private final Thread aggregator;
+
+    private final Object monitor;
+
+    // the fields below are guarded by monitor
+
+    private long submitted;
+
+    private long processed;
+
+    private int maxQueueDepth;
+
+    private long busyNanos;
+
+    private Throwable failure;
+
+    AsyncCoverageHandler(final SideEffect1<CoverageResult> handler) {
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.monitor = new Object();
+        this.aggregator = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                aggregate();
+            }
+        }, "prapr-coverage-aggregator");
+        this.aggregator.setDaemon(true);
+        this.aggregator.start();
+    }
+
+    @Override
+    public void apply(final CoverageResult coverageResult) {
+        synchronized (this.monitor) {
+            this.submitted++;
+        }
+        put(coverageResult);
+        final int depth = this.queue.size();
+        synchronized (this.monitor) {
+            this.maxQueueDepth = Math.max(this.maxQueueDepth, depth);
+        }
+    }
+
+    private void put(final CoverageResult coverageResult) {
+        try {
+            this.queue.put(coverageResult);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Unchecked.translateCheckedException(e);
+        }
+    }
+
+    private void aggregate() {
+        while (true) {
+            final CoverageResult coverageResult;
+            try {
+                coverageResult = this.queue.take();
+            } catch (final InterruptedException e) {
+                return;
+            }
+            if (coverageResult == END) {
+                return;
+            }
+            final long t0 = System.nanoTime();
+            Throwable failure = null;
+            try {
+                this.handler.apply(coverageResult);
+            } catch (final Throwable t) {
+                failure = t;
+            }
+            synchronized (this.monitor) {
+                this.busyNanos += System.nanoTime() - t0;
+                if (failure != null && this.failure == null) {
+                    this.failure = failure;
+                }
+                this.processed++;
+                this.monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all the results submitted so far are processed.
+     */
+    void awaitProcessed() throws InterruptedException {
+        synchronized (this.monitor) {
+            final long target = this.submitted;
+            while (this.processed < target) {
+                this.monitor.wait();
+            }
+            if (this.failure != null) {
+                final Throwable failure = this.failure;
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                }
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+                throw Unchecked.translateCheckedException(failure);
+            }
+        }
+    }
+
+    /**
+     * Stops the aggregation thread after the pending results are processed,
+     * and logs the queue metrics.
+     */
+    void close() throws InterruptedException {
+        put(END);
+        this.aggregator.join();
+        synchronized (this.monitor) {
+            LOG.fine(String.format("Aggregated %d coverage results in %d ms (%.1f results/s); "
+                            + "maximum queue depth was %d of %d",
+                    this.processed, this.busyNanos / 1000000L, getThroughput(),
+                    this.maxQueueDepth, QUEUE_CAPACITY));
+        }
+    }
+
+    /**
+     * @return The number of results processed per second of aggregation work
+     */
+    double getThroughput() {
+        synchronized (this.monitor) {
+            return this.busyNanos == 0L ? 0D : this.processed * 1e9D / this.busyNanos;
+        }
+    }
+
+    int getMaxQueueDepth() {
+        synchronized (this.monitor) {
+            return this.maxQueueDepth;
+        }
+    }
+}
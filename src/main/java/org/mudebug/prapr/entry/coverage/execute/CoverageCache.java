@@ -0,0 +1,388 @@
+package org.mudebug.prapr.entry.coverage.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An on-disk cache of the coverage results of a previous run. The cache is keyed by
+ * the path, size, and modification time of the jar files on the classpath, by a hash of
+ * every other file in the classpath directories, e.g. test helpers and resources, and
+ * by a hash of every class under test and every test class.
+ *
+ * If the libraries or the other files on the classpath have changed, nothing is reused. Otherwise,
+ * the results of a test class are reused unless the test class itself, or a class
+ * covered by one of its tests, has changed since the last run. A test can only take
+ * a different path through the code under test after executing a changed class, so
+ * the results of the other test classes remain valid.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+final class CoverageCache {
+    private static final Logger LOG = Log.getLogger();
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int NEW_STRING = -1;
+
+    private static final int NULL_STRING = -2;
+
+    private final File directory;
+
+    private final File file;
+
+    private final String classPathFingerprint;
+
+    // internal class name -> hash of the class file
+    private final Map<String, String> classHashes;
+
+    CoverageCache(final File directory, final CodeSource code, final Collection<String> testClasses) {
+        this.directory = directory;
+        this.file = new File(directory, "coverage.bin");
+        this.classHashes = new HashMap<>();
+        for (final ClassName className : code.getCodeUnderTestNames()) {
+            hash(code, className.asInternalName());
+        }
+        for (final String testClass : testClasses) {
+            hash(code, testClass);
+        }
+        this.classPathFingerprint = fingerprint(code.getClassPath().getLocalClassPath());
+    }
+
+    private void hash(final CodeSource code, final String internalName) {
+        final Option<byte[]> bytes = code.fetchClassBytes(ClassName.fromString(internalName));
+        if (bytes.hasSome()) {
+            this.classHashes.put(internalName, DigestUtils.sha1Hex(bytes.value()));
+        }
+    }
+
+    private String fingerprint(final String classPath) {
+        final StringBuilder sb = new StringBuilder();
+        for (final String entry : classPath.split(File.pathSeparator)) {
+            final File file = new File(entry);
+            sb.append(file.getAbsolutePath());
+            if (file.isFile()) {
+                sb.append(':').append(file.length()).append(':').append(file.lastModified());
+            } else if (file.isDirectory()) {
+                fingerprintDirectory(file, "", sb);
+            }
+            sb.append(File.pathSeparatorChar);
+        }
+        return DigestUtils.sha1Hex(sb.toString());
+    }
+
+    // the classes under test and the test classes are left out, as they are hashed one by one
+    private void fingerprintDirectory(final File directory, final String prefix, final StringBuilder sb) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (final File file : files) {
+            final String relativePath = prefix + file.getName();
+            if (file.isDirectory()) {
+                fingerprintDirectory(file, relativePath + '/', sb);
+            } else if (!(relativePath.endsWith(".class")
+                    && this.classHashes.containsKey(relativePath.substring(0, relativePath.length() - 6)))) {
+                sb.append(':').append(relativePath).append('=');
+                try (final FileInputStream fis = new FileInputStream(file)) {
+                    sb.append(DigestUtils.sha1Hex(fis));
+                } catch (IOException e) {
+                    sb.append(file.length()).append('@').append(file.lastModified());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param testClasses Internal names of the test classes to be run
+     * @return Reusable coverage results of the previous run, grouped by the internal name
+     * of their test class. The map is empty if nothing could be reused.
+     */
+    Map<String, List<CoverageResult>> load(final Collection<String> testClasses) {
+        final Map<String, List<CoverageResult>> reused = new LinkedHashMap<>();
+        if (!this.file.isFile()) {
+            return reused;
+        }
+        try (final DataInputStream dis =
+                     new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+            if (dis.readInt() != FORMAT_VERSION || !this.classPathFingerprint.equals(dis.readUTF())) {
+                LOG.info("Classpath has changed since coverage was cached. Calculating coverage from scratch.");
+                return reused;
+            }
+            final Set<String> changedClasses = new HashSet<>(this.classHashes.keySet());
+            for (int count = dis.readInt(); count > 0; count--) {
+                final String className = dis.readUTF();
+                final String hash = dis.readUTF();
+                if (hash.equals(this.classHashes.get(className))) {
+                    changedClasses.remove(className);
+                } else {
+                    changedClasses.add(className);
+                }
+            }
+            final Map<String, List<CoverageResult>> results = new HashMap<>();
+            final Set<String> invalidated = new HashSet<>();
+            final List<String> strings = new ArrayList<>();
+            while (dis.readBoolean()) {
+                final String testClass = readString(dis, strings);
+                final CoverageResult result = readResult(dis, strings);
+                if (changedClasses.contains(testClass) || invalidated.contains(testClass)) {
+                    continue;
+                }
+                if (coversAny(result, changedClasses)) {
+                    invalidated.add(testClass);
+                    results.remove(testClass);
+                    continue;
+                }
+                List<CoverageResult> testClassResults = results.get(testClass);
+                if (testClassResults == null) {
+                    testClassResults = new ArrayList<>();
+                    results.put(testClass, testClassResults);
+                }
+                testClassResults.add(result);
+            }
+            final Set<String> completed = new HashSet<>();
+            for (int count = dis.readInt(); count > 0; count--) {
+                completed.add(dis.readUTF());
+            }
+            for (final String testClass : testClasses) {
+                if (completed.contains(testClass)
+                        && !changedClasses.contains(testClass)
+                        && !invalidated.contains(testClass)) {
+                    final List<CoverageResult> testClassResults = results.get(testClass);
+                    reused.put(testClass, testClassResults == null
+                            ? new ArrayList<CoverageResult>() : testClassResults);
+                }
+            }
+            return reused;
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Ignoring corrupt coverage cache " + this.file.getAbsolutePath(), e);
+            reused.clear();
+            return reused;
+        }
+    }
+
+    private static boolean coversAny(final CoverageResult result, final Set<String> classes) {
+        for (final BlockLocation block : result.getCoverage()) {
+            if (classes.contains(block.getLocation().getClassName().asInternalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CoverageResult readResult(final DataInputStream dis,
+                                             final List<String> strings) throws IOException {
+        final String name = readString(dis, strings);
+        final String testClass = readString(dis, strings);
+        final int executionTime = dis.readInt();
+        final boolean green = dis.readBoolean();
+        final int blocksCount = dis.readInt();
+        final List<BlockLocation> blocks = new ArrayList<>(blocksCount);
+        for (int i = 0; i < blocksCount; i++) {
+            final ClassName className = ClassName.fromString(readString(dis, strings));
+            final MethodName methodName = MethodName.fromString(readString(dis, strings));
+            final String methodDesc = readString(dis, strings);
+            blocks.add(new BlockLocation(new Location(className, methodName, methodDesc), dis.readInt()));
+        }
+        return new CoverageResult(new Description(name, testClass), executionTime, green, blocks);
+    }
+
+    private static String readString(final DataInputStream dis, final List<String> strings) throws IOException {
+        final int index = dis.readInt();
+        if (index == NULL_STRING) {
+            return null;
+        }
+        if (index == NEW_STRING) {
+            final String string = dis.readUTF();
+            strings.add(string);
+            return string;
+        }
+        return strings.get(index);
+    }
+
+    /**
+     * @return A recorder that writes the coverage results of this run into a
+     * temporary file, which replaces the cache once the recorder is committed.
+     * <code>null</code> is returned if the cache directory is not writable.
+     */
+    Recorder newRecorder() {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs() && !this.directory.isDirectory()) {
+            LOG.warning("Unable to create cache directory " + this.directory.getAbsolutePath());
+            return null;
+        }
+        try {
+            return new Recorder();
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unable to cache coverage in " + this.directory.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Records coverage results as they arrive, so that they need not be kept in memory.
+     * Calls are expected to be serialized by the caller, i.e., the coverage result handler.
+     */
+    final class Recorder {
+        private final File tempFile;
+
+        private final DataOutputStream dos;
+
+        // string -> index in the order of first appearance
+        private final Map<String, Integer> strings;
+
+        private boolean failed;
+
+        private Recorder() throws IOException {
+            this.tempFile = File.createTempFile("coverage", ".tmp", CoverageCache.this.directory);
+            this.dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.tempFile)));
+            this.strings = new HashMap<>();
+            this.dos.writeInt(FORMAT_VERSION);
+            this.dos.writeUTF(CoverageCache.this.classPathFingerprint);
+            this.dos.writeInt(CoverageCache.this.classHashes.size());
+            for (final Map.Entry<String, String> entry : CoverageCache.this.classHashes.entrySet()) {
+                this.dos.writeUTF(entry.getKey());
+                this.dos.writeUTF(entry.getValue());
+            }
+        }
+
+        /**
+         * @param testClass Internal name of the test class of <code>result</code>, or
+         *                  <code>null</code> if it is unknown, in which case nothing is cached
+         * @param result A coverage result
+         */
+        void record(final String testClass, final CoverageResult result) {
+            if (this.failed) {
+                return;
+            }
+            if (testClass == null) {
+                LOG.fine("Not caching coverage, as the test class of " + result.getTestUnitDescription()
+                        + " is unknown");
+                this.failed = true;
+                return;
+            }
+            try {
+                this.dos.writeBoolean(true);
+                writeString(testClass);
+                final Description description = result.getTestUnitDescription();
+                writeString(description.getName());
+                writeString(description.getFirstTestClass());
+                this.dos.writeInt(result.getExecutionTime());
+                this.dos.writeBoolean(result.isGreenTest());
+                final Collection<BlockLocation> blocks = result.getCoverage();
+                this.dos.writeInt(blocks.size());
+                for (final BlockLocation block : blocks) {
+                    final Location location = block.getLocation();
+                    writeString(location.getClassName().asInternalName());
+                    writeString(location.getMethodName().name());
+                    writeString(location.getMethodDesc());
+                    this.dos.writeInt(block.getBlock());
+                }
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Unable to cache coverage", e);
+                this.failed = true;
+            }
+        }
+
+        private void writeString(final String string) throws IOException {
+            if (string == null) {
+                this.dos.writeInt(NULL_STRING);
+                return;
+            }
+            final Integer index = this.strings.get(string);
+            if (index == null) {
+                this.strings.put(string, this.strings.size());
+                this.dos.writeInt(NEW_STRING);
+                this.dos.writeUTF(string);
+            } else {
+                this.dos.writeInt(index);
+            }
+        }
+
+        /**
+         * @param testClasses Internal names of the test classes whose coverage is recorded completely
+         */
+        void commit(final Collection<String> testClasses) {
+            try {
+                this.dos.writeBoolean(false);
+                this.dos.writeInt(testClasses.size());
+                for (final String testClass : testClasses) {
+                    this.dos.writeUTF(testClass);
+                }
+                this.dos.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Unable to cache coverage", e);
+                this.failed = true;
+            }
+            if (this.failed) {
+                abort();
+                return;
+            }
+            final File file = CoverageCache.this.file;
+            if (!this.tempFile.renameTo(file)) {
+                file.delete();
+                if (!this.tempFile.renameTo(file)) {
+                    this.tempFile.delete();
+                }
+            }
+        }
+
+        void abort() {
+            try {
+                this.dos.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            this.tempFile.delete();
+        }
+    }
+}
@@ -24,22 +24,20 @@ import org.mudebug.prapr.core.DefaultSuspChecker;
 import org.mudebug.prapr.core.DummySuspChecker;
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.WeakSuspChecker;
-import org.mudebug.prapr.core.commons.TestCaseUtil;
+import org.mudebug.prapr.core.commons.BlockCoverageStore;
+import org.mudebug.prapr.core.commons.TestRegistry;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
-import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageData;
 import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
-import org.pitest.coverage.TestInfo;
 import org.pitest.coverage.analysis.LineMapper;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.CoverageProcess;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
-import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.PitHelpError;
@@ -47,7 +45,6 @@ import org.pitest.maven.PraPRReportOptions;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.process.LaunchOptions;
 import org.pitest.process.ProcessArgs;
-import org.pitest.testapi.Description;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 import org.pitest.util.PitError;
@@ -57,16 +54,18 @@ import org.pitest.util.Unchecked;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Serializable;
 import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Logger;
 
 /**
@@ -78,6 +77,8 @@ import java.util.logging.Logger;
 public class PraPRCoverageGenerator implements CoverageGenerator {
     private static final Logger LOG = Log.getLogger();
 
+    private static final long SPINNER_PERIOD = 100L;
+
     private final CoverageOptions coverageOptions;
 
     private final File workingDir;
@@ -94,14 +95,19 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
 
     private final boolean shouldInferFailingTests;
 
-    private final Set<String> failingTests;
-
-    private int allTestsCount;
+    private final TestRegistry testRegistry;
 
-    private final Map<BlockLocation, Set<TestInfo>> blockCoverage;
+    private final BlockCoverageStore blockCoverage;
 
     private final PraPRReportOptions reportOptions;
 
+    // serializes coverage results of concurrent minions and the reads of the coverage gathered so far
+    private final Object coverageLock;
+
+    // coverage of the passing tests that is gathered in the background, if any.
+    // the task yields the time at which it has finished.
+    private FutureTask<Long> remainingCoverage;
+
     public PraPRCoverageGenerator(final CoverageOptions coverageOptions,
                                   final File workingDir,
                                   final Timings timings,
@@ -118,10 +124,10 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
         this.launchOptions = launchOptions;
         this.showProgress = showProgress;
         this.shouldInferFailingTests = reportOptions.getFailingTests().isEmpty();
-        this.failingTests = new HashSet<>(reportOptions.getFailingTests());
-        this.allTestsCount = 0;
-        this.blockCoverage = new LinkedHashMap<>();
+        this.testRegistry = new TestRegistry(reportOptions.getFailingTests());
+        this.blockCoverage = new BlockCoverageStore();
         this.reportOptions = reportOptions;
+        this.coverageLock = new Object();
     }
 
     @Override
@@ -134,15 +140,60 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
 
             final CoverageData coverage = new CoverageData(this.code, new LineMapper(this.code));
 
-            this.timings.registerStart(Timings.Stage.COVERAGE);
-            gatherCoverageData(tests, coverage);
-            this.timings.registerEnd(Timings.Stage.COVERAGE);
+            final List<String> testClasses = FCollection.map(tests, classInfoToName());
 
-            final long time = (System.currentTimeMillis() - t0) / 1000;
+            final CoverageCache cache = coverageCache(testClasses);
+            final CoverageCache.Recorder recorder = cache == null ? null : cache.newRecorder();
 
-            LOG.info("Calculated coverage in " + time + " seconds.");
+            final Set<String> uncachedTestClasses = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+            final AsyncCoverageHandler handler = new AsyncCoverageHandler(synchronizedHandler(
+                    recordingHandler(recorder, testClasses, uncachedTestClasses, decoratedResultProcessor(coverage))));
 
-            this.exporter.recordCoverage(coverage.createCoverage());
+            this.timings.registerStart(Timings.Stage.COVERAGE);
+            final List<String> remainingTestClasses = new ArrayList<>(testClasses);
+            if (cache != null) {
+                final Map<String, List<CoverageResult>> reused = cache.load(testClasses);
+                for (final List<CoverageResult> results : reused.values()) {
+                    for (final CoverageResult result : results) {
+                        handler.apply(result);
+                    }
+                }
+                remainingTestClasses.removeAll(reused.keySet());
+                LOG.info(String.format("Reusing cached coverage of %d out of %d test classes.",
+                        reused.size(), testClasses.size()));
+            }
+            final List<String> failingTestClasses = failingTestClasses(remainingTestClasses);
+            if (failingTestClasses.isEmpty()) {
+                gatherCoverageData(remainingTestClasses, this.coverageOptions, handler, recorder);
+                finishCoverage(coverage, t0, handler, recorder, testClasses);
+                this.timings.registerEnd(Timings.Stage.COVERAGE);
+            } else {
+                final List<String> passingTestClasses = new ArrayList<>(remainingTestClasses);
+                passingTestClasses.removeAll(failingTestClasses);
+                gatherCoverageData(failingTestClasses, this.coverageOptions, handler, recorder);
+                LOG.info(String.format("Calculated coverage of %d failing test classes in %d seconds. "
+                                + "Coverage of the other %d test classes is calculated in the background.",
+                        failingTestClasses.size(), (System.currentTimeMillis() - t0) / 1000,
+                        passingTestClasses.size()));
+                final CoverageOptions passingTestsOptions = passingTestsCoverageOptions();
+                final List<String> cachedTestClasses = new ArrayList<>(testClasses);
+                if (passingTestsOptions != this.coverageOptions) {
+                    // restricted coverage must not be reused by runs that might mutate other classes
+                    uncachedTestClasses.addAll(passingTestClasses);
+                    cachedTestClasses.removeAll(passingTestClasses);
+                }
+                // timings are not thread-safe, so the end of coverage is registered by awaitCoverage
+                this.remainingCoverage = new FutureTask<>(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        gatherCoverageData(passingTestClasses, passingTestsOptions, handler, recorder);
+                        return finishCoverage(coverage, t0, handler, recorder, cachedTestClasses);
+                    }
+                });
+                final Thread thread = new Thread(this.remainingCoverage, "prapr-coverage");
+                thread.setDaemon(true);
+                thread.start();
+            }
 
             return coverage;
 
@@ -153,6 +204,120 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
         }
     }
 
+    private long finishCoverage(final CoverageData coverage,
+                                final long t0,
+                                final AsyncCoverageHandler handler,
+                                final CoverageCache.Recorder recorder,
+                                final List<String> testClasses) throws InterruptedException {
+        handler.close();
+        final long end = System.currentTimeMillis();
+
+        final long time = (end - t0) / 1000;
+
+        LOG.info("Calculated coverage in " + time + " seconds.");
+
+        if (recorder != null) {
+            recorder.commit(testClasses);
+        }
+
+        this.exporter.recordCoverage(coverage.createCoverage());
+
+        return end;
+    }
+
+    private CoverageCache coverageCache(final List<String> testClasses) {
+        final File cacheDirectory = this.reportOptions.getCacheDirectory();
+        if (cacheDirectory == null) {
+            return null;
+        }
+        final long t0 = System.currentTimeMillis();
+        final CoverageCache cache = new CoverageCache(new File(cacheDirectory, "coverage"), this.code, testClasses);
+        LOG.fine("Hashed classes for the coverage cache in " + (System.currentTimeMillis() - t0) + " ms");
+        return cache;
+    }
+
+    /**
+     * Mutations are only generated in the classes covered by the failing tests, so the tests
+     * that cover no such class are irrelevant to mutation analysis. Unless all the classes are
+     * to be mutated, coverage of the passing tests is thus only calculated for those classes.
+     */
+    private CoverageOptions passingTestsCoverageOptions() {
+        final SuspChecker suspChecker = getSuspChecker();
+        if (suspChecker instanceof DummySuspChecker) {
+            return this.coverageOptions;
+        }
+        final List<String> hitClasses = new ArrayList<>();
+        for (final ClassName className : this.code.getCodeUnderTestNames()) {
+            if (suspChecker.isHit(className.asJavaName())) {
+                hitClasses.add(className.asJavaName());
+            }
+        }
+        LOG.fine("Coverage of the passing tests is restricted to " + hitClasses.size()
+                + " classes covered by the failing tests");
+        return new CoverageOptions(hitClasses, Collections.<String>emptyList(),
+                this.coverageOptions.getPitConfig(), this.coverageOptions.isVerbose(),
+                this.coverageOptions.getDependencyAnalysisMaxDistance());
+    }
+
+    /**
+     * In failing-tests-first mode, returns the test classes that contain the failing tests.
+     * Otherwise, or if none of the test classes contains a failing test, returns an empty list.
+     */
+    private List<String> failingTestClasses(final List<String> testClasses) {
+        final List<String> failingTestClasses = new ArrayList<>();
+        if (!this.reportOptions.isFailingTestsFirst()) {
+            return failingTestClasses;
+        }
+        if (this.shouldInferFailingTests) {
+            LOG.warning("Failing tests are not specified, so coverage of all the tests is calculated upfront.");
+            return failingTestClasses;
+        }
+        final Set<String> failingClassNames = new HashSet<>();
+        for (final String failingTest : this.testRegistry.getFailingTests()) {
+            final int lastDot = failingTest.lastIndexOf('.');
+            if (lastDot > 0) {
+                failingClassNames.add(failingTest.substring(0, lastDot));
+            }
+        }
+        for (final String testClass : testClasses) {
+            if (failingClassNames.contains(ClassName.fromString(testClass).asJavaName())) {
+                failingTestClasses.add(testClass);
+            }
+        }
+        return failingTestClasses;
+    }
+
+    /**
+     * Waits for the coverage that is being calculated in the background, if any.
+     * Coverage data must be complete before tests are assigned to mutations.
+     * The end of the coverage stage is registered here, on the calling thread.
+     */
+    public void awaitCoverage() {
+        if (this.remainingCoverage == null) {
+            return;
+        }
+        try {
+            final long waitStart = System.currentTimeMillis();
+            final long end = this.remainingCoverage.get();
+            this.timings.registerEnd(Timings.Stage.COVERAGE);
+            this.remainingCoverage = null;
+            if (end > waitStart) {
+                LOG.fine("Waited " + (end - waitStart) + " ms for the background coverage");
+            } else {
+                LOG.fine("Background coverage was ready " + (waitStart - end) + " ms before it was needed");
+            }
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw Unchecked.translateCheckedException(cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Unchecked.translateCheckedException(e);
+        }
+    }
+
     @Override
     public TestPluginArguments getConfiguration() {
         return this.coverageOptions.getPitConfig();
@@ -163,14 +328,49 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
         return this.launchOptions;
     }
 
-    private void gatherCoverageData(final Collection<ClassInfo> tests,
-                                    final CoverageData coverage)
+    private void gatherCoverageData(final List<String> filteredTests,
+                                    final CoverageOptions options,
+                                    final AsyncCoverageHandler handler,
+                                    final CoverageCache.Recorder recorder)
             throws IOException, InterruptedException {
+        try {
+            gatherCoverageData(filteredTests, options, handler);
+            handler.awaitProcessed();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            if (recorder != null) {
+                recorder.abort();
+            }
+            throw e;
+        }
+    }
 
-        final List<String> filteredTests = FCollection.map(tests, classInfoToName());
+    private void gatherCoverageData(final List<String> filteredTests,
+                                    final CoverageOptions options,
+                                    final SideEffect1<CoverageResult> handler)
+            throws IOException, InterruptedException {
+        if (filteredTests.isEmpty()) {
+            return;
+        }
+        final List<List<String>> partitions = partition(filteredTests, this.reportOptions.getCoverageMinions());
+        if (partitions.size() > 1) {
+            LOG.info("Running " + filteredTests.size() + " test classes in " + partitions.size()
+                    + " concurrent coverage minions");
+        }
 
-        final SideEffect1<CoverageResult> handler = decoratedResultProcessor(coverage);
+        final List<CoverageProcess> processes = new ArrayList<>(partitions.size());
+        for (final List<String> partition : partitions) {
+            final CoverageProcess process = createCoverageProcess(partition, options, handler);
+            processes.add(process);
+            process.start();
+        }
+        for (final CoverageProcess process : processes) {
+            checkExitCode(process.waitToDie());
+        }
+    }
 
+    private CoverageProcess createCoverageProcess(final List<String> tests,
+                                                  final CoverageOptions options,
+                                                  final SideEffect1<CoverageResult> handler) throws IOException {
         final SocketFinder sf = new SocketFinder();
         final ServerSocket socket = sf.getNextAvailableServerSocket();
 
@@ -181,13 +381,26 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
                 .andStderr(logInfo())
                 .andStdout(captureStandardOutIfVerbose());
 
-        final CoverageProcess process = new CoverageProcess(processArgs, this.coverageOptions,
-                socket, filteredTests, handler);
-
-        process.start();
+        return new CoverageProcess(processArgs, options, socket, tests, handler);
+    }
 
-        ExitCode exitCode = process.waitToDie();
+    /**
+     * Distributes test classes among at most <code>n</code> partitions in a round-robin
+     * fashion, so that the test classes of a package are spread over the partitions.
+     */
+    private static List<List<String>> partition(final List<String> tests, final int n) {
+        final int partitionsCount = Math.max(1, Math.min(n, tests.size()));
+        final List<List<String>> partitions = new ArrayList<>(partitionsCount);
+        for (int i = 0; i < partitionsCount; i++) {
+            partitions.add(new ArrayList<String>());
+        }
+        for (int i = 0; i < tests.size(); i++) {
+            partitions.get(i % partitionsCount).add(tests.get(i));
+        }
+        return partitions;
+    }
 
+    private static void checkExitCode(final ExitCode exitCode) {
         if (exitCode == ExitCode.JUNIT_ISSUE) {
             LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
             throw new PitError("Coverage generation minion exited abnormally. Please check the classpath.");
@@ -234,43 +447,60 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
         };
     }
 
+    // results of concurrent minions arrive on different threads
+    private SideEffect1<CoverageResult> synchronizedHandler(final SideEffect1<CoverageResult> handler) {
+        return new SideEffect1<CoverageResult>() {
+            @Override
+            public void apply(final CoverageResult coverageResult) {
+                synchronized (PraPRCoverageGenerator.this.coverageLock) {
+                    handler.apply(coverageResult);
+                }
+            }
+        };
+    }
+
+    // writes the results into the coverage cache, if any, as they arrive
+    private static SideEffect1<CoverageResult> recordingHandler(final CoverageCache.Recorder recorder,
+                                                                final List<String> testClasses,
+                                                                final Set<String> uncachedTestClasses,
+                                                                final SideEffect1<CoverageResult> handler) {
+        if (recorder == null) {
+            return handler;
+        }
+        final Set<String> knownTestClasses = new HashSet<>(testClasses);
+        return new SideEffect1<CoverageResult>() {
+            @Override
+            public void apply(final CoverageResult coverageResult) {
+                final String firstTestClass = coverageResult.getTestUnitDescription().getFirstTestClass();
+                String testClass = null;
+                if (firstTestClass != null) {
+                    testClass = ClassName.fromString(firstTestClass).asInternalName();
+                    if (!knownTestClasses.contains(testClass)) {
+                        testClass = null;
+                    }
+                }
+                if (testClass == null || !uncachedTestClasses.contains(testClass)) {
+                    recorder.record(testClass, coverageResult);
+                }
+                handler.apply(coverageResult);
+            }
+        };
+    }
+
     private SideEffect1<CoverageResult> decoratedResultProcessor(final CoverageData coverageData) {
         return new SideEffect1<CoverageResult>() {
             final SideEffect1<CoverageResult> resultProcessor = resultProcessor(coverageData);
 
             @Override
             public void apply(CoverageResult coverageResult) {
-                PraPRCoverageGenerator.this.allTestsCount++;
+                final TestRegistry testRegistry = PraPRCoverageGenerator.this.testRegistry;
+                final int testId = testRegistry.register(coverageResult.getTestUnitDescription().getQualifiedName());
                 if (!coverageResult.isGreenTest() && PraPRCoverageGenerator.this.shouldInferFailingTests) {
-                    final String sanitizedName = TestCaseUtil.sanitizeTestName(coverageResult.getTestUnitDescription().getQualifiedName());
-                    PraPRCoverageGenerator.this.failingTests.add(sanitizedName);
-                }
-                final TestInfo ti = this.createTestInfo(coverageResult.getTestUnitDescription(),
-                        coverageResult.getExecutionTime(),
-                        coverageResult.getNumberOfCoveredBlocks());
-                for (BlockLocation each : coverageResult.getCoverage()) {
-                    addTestsToBlockMap(ti, each);
+                    testRegistry.addFailingTest(testRegistry.getSanitizedName(testId));
                 }
+                PraPRCoverageGenerator.this.blockCoverage.add(testId, coverageResult.getCoverage());
                 this.resultProcessor.apply(coverageResult);
             }
-
-            private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
-                Set<TestInfo> tests = PraPRCoverageGenerator.this.blockCoverage.get(each);
-                if (tests == null) {
-                    tests = new TreeSet<>(new TestInfoNameComparator());
-                    PraPRCoverageGenerator.this.blockCoverage.put(each, tests);
-                }
-                tests.add(ti);
-            }
-
-            private TestInfo createTestInfo(final Description description,
-                                            final int executionTime,
-                                            final int linesCovered) {
-                final Option<ClassName> testee =
-                        PraPRCoverageGenerator.this.code.findTestee(description.getFirstTestClass());
-                return new TestInfo(description.getFirstTestClass(), description.getQualifiedName(),
-                        executionTime, testee, linesCovered);
-            }
         };
     }
 
@@ -280,42 +510,54 @@ public class PraPRCoverageGenerator implements CoverageGenerator {
 
             private int i = 0;
 
+            private long lastTick = 0L;
+
             @Override
             public void apply(final CoverageResult cr) {
                 coverage.calculateClassCoverage(cr);
                 if (PraPRCoverageGenerator.this.showProgress) {
-                    System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
+                    // the spinner turns at most every SPINNER_PERIOD ms rather than once per test
+                    final long now = System.currentTimeMillis();
+                    if (now - this.lastTick >= SPINNER_PERIOD) {
+                        this.lastTick = now;
+                        System.out.print(this.spinner[this.i % this.spinner.length]);
+                        this.i++;
+                    }
                 }
-                this.i++;
             }
         };
     }
 
-    public Set<String> getInferredFailingTests() {
-        return this.failingTests;
+    /**
+     * @return The registry of the tests run during coverage analysis, which also
+     * knows the given, or inferred, failing tests
+     */
+    public TestRegistry getTestRegistry() {
+        return this.testRegistry;
     }
 
-    public int getAllTestsCount() {
-        return this.allTestsCount;
+    public BlockCoverageStore getBlockCoverage() {
+        return this.blockCoverage;
     }
 
-    private static class TestInfoNameComparator implements Comparator<TestInfo>, Serializable {
-        private static final long serialVersionUID = 1L;
-
-        @Override
-        public int compare(final TestInfo lhs, final TestInfo rhs) {
-            return lhs.getName().compareTo(rhs.getName());
+    /**
+     * The checker only depends on the coverage of the failing tests, so it can be
+     * created while coverage of the other tests is still being calculated.
+     */
+    public SuspChecker getSuspChecker() {
+        synchronized (this.coverageLock) {
+            return createSuspChecker();
         }
     }
 
-    public SuspChecker getSuspChecker() {
+    private SuspChecker createSuspChecker() {
         switch (this.reportOptions.getMutateSuspStmt()) {
             case NONE:
-                return new DummySuspChecker(this.failingTests);
+                return new DummySuspChecker(new HashSet<>(this.testRegistry.getFailingTests()));
             case DEFAULT:
-                return new DefaultSuspChecker(this.failingTests, this.blockCoverage.entrySet());
+                return new DefaultSuspChecker(this.testRegistry, this.blockCoverage, new LineMapper(this.code));
             case WEAK:
-                return new WeakSuspChecker(this.failingTests, this.blockCoverage.entrySet());
+                return new WeakSuspChecker(this.testRegistry, this.blockCoverage, new LineMapper(this.code));
         }
         throw new IllegalArgumentException();
     }
@@ -21,6 +21,8 @@ package org.mudebug.prapr.entry.mutationtest;
  */
 
 import org.mudebug.prapr.core.SuspStrategy;
+import org.mudebug.prapr.core.commons.TestRegistry;
+import org.mudebug.prapr.entry.report.SpectrumTable;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.mutationtest.ListenerArguments;
@@ -35,9 +37,7 @@ import java.util.Collection;
  * @since 2.0.3
  */
 public class AugmentedListenerArguments extends ListenerArguments {
-    private final Collection<String> failingTests;
-
-    private final int allTestsCount;
+    private final TestRegistry testRegistry;
 
     private final SuspStrategy suspStrategy;
 
@@ -45,6 +45,8 @@ public class AugmentedListenerArguments extends ListenerArguments {
 
     private final boolean dumpMutations;
 
+    private final SpectrumTable spectrumTable;
+
     public AugmentedListenerArguments(final ResultOutputStrategy outputStrategy,
                                       final CoverageDatabase coverage,
                                       final SourceLocator locator,
@@ -52,23 +54,26 @@ public class AugmentedListenerArguments extends ListenerArguments {
                                       final ClassByteArraySource cbas,
                                       final long startTime,
                                       final SuspStrategy suspStrategy,
-                                      final Collection<String> failingTests,
-                                      final int allTestsCount,
+                                      final TestRegistry testRegistry,
                                       final boolean dumpMutations) {
         super(outputStrategy, coverage, locator, engine, startTime);
-        this.failingTests = failingTests;
-        this.allTestsCount = allTestsCount;
+        this.testRegistry = testRegistry;
         this.suspStrategy = suspStrategy;
         this.cbas = cbas;
         this.dumpMutations = dumpMutations;
+        this.spectrumTable = new SpectrumTable(testRegistry);
     }
 
     public Collection<String> getFailingTests() {
-        return this.failingTests;
+        return this.testRegistry.getFailingTests();
     }
 
     public int getAllTestsCount() {
-        return this.allTestsCount;
+        return this.testRegistry.size();
+    }
+
+    public TestRegistry getTestRegistry() {
+        return this.testRegistry;
     }
 
     public SuspStrategy getSuspStrategy() {
@@ -82,4 +87,8 @@ public class AugmentedListenerArguments extends ListenerArguments {
     public boolean shouldDumpMutations() {
         return this.dumpMutations;
     }
+
+    public SpectrumTable getSpectrumTable() {
+        return this.spectrumTable;
+    }
 }
@@ -0,0 +1,225 @@
+package org.mudebug.prapr.entry.mutationtest.build;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.reloc.asm.ClassReader;
+import org.pitest.reloc.asm.ClassWriter;
+import org.pitest.util.Log;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds the mutations that result in the same bytecode, so that only one of them,
+ * the representative, has to be run. Different mutators, or different variants of
+ * a mutator, often end up doing the same thing, e.g., when there is only one visible
+ * local variable of the required type.
+ *
+ * Mutants are compared after dropping debug information and stack map frames,
+ * which have nothing to do with their behavior. Two mutations are considered
+ * duplicates only if they are assigned the same tests, so that the result of the
+ * representative is exactly what the duplicates would have got.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class MutantDeduplicator {
+    private static final Logger LOG = Log.getLogger();
+
+    private final Mutater mutater;
+
+    private final Map<MutationIdentifier, List<MutationDetails>> duplicatesOf;
+
+    private int duplicates;
+
+    /**
+     * @param mutater A mutater of the main process, used to generate the mutants
+     */
+    public MutantDeduplicator(final Mutater mutater) {
+        this.mutater = mutater;
+        this.duplicatesOf = new HashMap<>();
+    }
+
+    /**
+     * @param mutations Mutations, with the tests to be run assigned to them
+     * @return The representatives, in the order they appear in <code>mutations</code>
+     */
+    public List<MutationDetails> deduplicate(final List<MutationDetails> mutations) {
+        final Map<ClassName, List<MutationDetails>> byClass = new LinkedHashMap<>();
+        for (final MutationDetails details : mutations) {
+            List<MutationDetails> ofClass = byClass.get(details.getClassName());
+            if (ofClass == null) {
+                ofClass = new ArrayList<>();
+                byClass.put(details.getClassName(), ofClass);
+            }
+            ofClass.add(details);
+        }
+        final List<MutationDetails> representatives = new ArrayList<>(mutations.size());
+        // mutants are generated and fingerprinted one class at a time to keep the memory footprint low
+        for (final List<MutationDetails> ofClass : byClass.values()) {
+            final List<Fingerprint> fingerprints = fingerprint(ofClass);
+            final Map<Fingerprint, MutationDetails> seen = new HashMap<>();
+            for (int i = 0; i < ofClass.size(); i++) {
+                final MutationDetails details = ofClass.get(i);
+                final Fingerprint fingerprint = fingerprints.get(i);
+                final MutationDetails representative = fingerprint == null ? null : seen.get(fingerprint);
+                if (representative == null) {
+                    if (fingerprint != null) {
+                        seen.put(fingerprint, details);
+                    }
+                    representatives.add(details);
+                } else {
+                    List<MutationDetails> dups = this.duplicatesOf.get(representative.getId());
+                    if (dups == null) {
+                        dups = new ArrayList<>();
+                        this.duplicatesOf.put(representative.getId(), dups);
+                    }
+                    dups.add(details);
+                    this.duplicates++;
+                }
+            }
+        }
+        LOG.info(String.format("*** %d/%d MUTATIONS ARE DUPLICATES OF OTHERS AND WILL NOT BE RUN.",
+                this.duplicates, mutations.size()));
+        return representatives;
+    }
+
+    public int getDuplicates() {
+        return this.duplicates;
+    }
+
+    /**
+     * @param listeners Listeners expecting the results of all the mutations
+     * @return A listener passing the results of the representatives, along with copies of
+     * them for their duplicates, to <code>listeners</code>
+     */
+    public MutationResultListener duplicating(final List<MutationResultListener> listeners) {
+        return new MutationResultListener() {
+            @Override
+            public void runStart() {
+                for (final MutationResultListener listener : listeners) {
+                    listener.runStart();
+                }
+            }
+
+            @Override
+            public void handleMutationResult(final ClassMutationResults results) {
+                final ClassMutationResults withDuplicates = withDuplicates(results);
+                for (final MutationResultListener listener : listeners) {
+                    listener.handleMutationResult(withDuplicates);
+                }
+            }
+
+            @Override
+            public void runEnd() {
+                for (final MutationResultListener listener : listeners) {
+                    listener.runEnd();
+                }
+            }
+        };
+    }
+
+    private ClassMutationResults withDuplicates(final ClassMutationResults results) {
+        final List<MutationResult> all = new ArrayList<>(results.getMutations());
+        for (final MutationResult result : results.getMutations()) {
+            final List<MutationDetails> dups = this.duplicatesOf.get(result.getDetails().getId());
+            if (dups != null) {
+                // no test is run against the duplicates
+                final MutationStatusTestPair statusTestPair = result.getKillingTest().hasSome()
+                        ? new MutationStatusTestPair(0, result.getStatus(), result.getKillingTest().value())
+                        : new MutationStatusTestPair(0, result.getStatus());
+                for (final MutationDetails details : dups) {
+                    all.add(new MutationResult(details, statusTestPair));
+                }
+            }
+        }
+        return all.size() == results.getMutations().size() ? results : new ClassMutationResults(all);
+    }
+
+    // a mutation whose mutant cannot be generated gets no fingerprint, and is run as usual
+    private List<Fingerprint> fingerprint(final List<MutationDetails> ofClass) {
+        final List<Fingerprint> fingerprints = new ArrayList<>(ofClass.size());
+        for (final MutationDetails details : ofClass) {
+            try {
+                final Mutant mutant = this.mutater.getMutation(details.getId());
+                fingerprints.add(new Fingerprint(digest(mutant.getBytes()), details.getTestsInOrder()));
+            } catch (Exception e) {
+                LOG.log(Level.FINE, "Unable to generate the mutant " + details.getId(), e);
+                fingerprints.add(null);
+            }
+        }
+        return fingerprints;
+    }
+
+    private static ByteBuffer digest(final byte[] bytes) throws NoSuchAlgorithmException {
+        final ClassWriter cw = new ClassWriter(0);
+        new ClassReader(bytes).accept(cw, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return ByteBuffer.wrap(MessageDigest.getInstance("SHA-1").digest(cw.toByteArray()));
+    }
+
+    private static final class Fingerprint {
+        final ByteBuffer digest;
+
+        final List<String> tests;
+
+        Fingerprint(final ByteBuffer digest, final List<TestInfo> tests) {
+            this.digest = digest;
+            this.tests = tests == null ? Collections.<String>emptyList() : FCollection.map(tests, TestInfo.toName());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint that = (Fingerprint) o;
+            return this.digest.equals(that.digest) && this.tests.equals(that.tests);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.digest.hashCode() + this.tests.hashCode();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.mudebug.prapr.entry.mutationtest.build;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.core.SuspChecker;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.classinfo.CachingByteArraySource;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.MutationConfig;
+import org.pitest.mutationtest.build.MutationInterceptor;
+import org.pitest.mutationtest.build.MutationSource;
+import org.pitest.mutationtest.build.TestPrioritiser;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A mutation source that filters out the mutations that are not hit by the failing
+ * tests as soon as they are found, i.e., before they are grouped into units, so
+ * that units are sized and prioritized based on the mutations that are actually
+ * going to be tested.
+ *
+ * Mutations can be found ahead of test assignment, see {@link #prefetch(Collection)},
+ * as only the latter needs coverage of the passing tests.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class PraPRMutationSource extends MutationSource {
+    private static final Logger LOG = Log.getLogger();
+
+    private static final int CLASS_CACHE_SIZE = 200;
+
+    private final MutationConfig mutationConfig;
+
+    private final TestPrioritiser testPrioritiser;
+
+    private final ClassByteArraySource source;
+
+    private final MutationInterceptor interceptor;
+
+    private final SuspChecker suspChecker;
+
+    // mutations found by prefetch, which are yet to be assigned tests
+    private final Map<ClassName, Collection<MutationDetails>> prefetched;
+
+    private int allMutations;
+
+    private int filteredOutMutations;
+
+    public PraPRMutationSource(final MutationConfig mutationConfig,
+                               final TestPrioritiser testPrioritiser,
+                               final ClassByteArraySource source,
+                               final MutationInterceptor interceptor,
+                               final SuspChecker suspChecker) {
+        super(mutationConfig, testPrioritiser, source, interceptor);
+        this.mutationConfig = mutationConfig;
+        this.testPrioritiser = testPrioritiser;
+        this.source = new CachingByteArraySource(source, CLASS_CACHE_SIZE);
+        this.interceptor = interceptor;
+        this.suspChecker = suspChecker;
+        this.prefetched = new HashMap<>();
+    }
+
+    /**
+     * Finds the mutations of <code>classes</code> without assigning tests to them, so that
+     * this can be done while coverage of the passing tests is still being calculated.
+     * Tests are assigned to the prefetched mutations of a class once
+     * {@link #createMutations(ClassName)} is called for it.
+     *
+     * @param classes Classes to be mutated
+     */
+    public void prefetch(final Collection<ClassName> classes) {
+        for (final ClassName clazz : classes) {
+            this.prefetched.put(clazz, findMutations(clazz));
+        }
+    }
+
+    @Override
+    public Collection<MutationDetails> createMutations(final ClassName clazz) {
+        Collection<MutationDetails> mutations = this.prefetched.remove(clazz);
+        if (mutations == null) {
+            mutations = findMutations(clazz);
+        }
+        assignTests(mutations);
+        return mutations;
+    }
+
+    // mirrors MutationSource.createMutations, less the test assignment
+    private Collection<MutationDetails> findMutations(final ClassName clazz) {
+        final Mutater mutater = this.mutationConfig.createMutator(this.source);
+        final Collection<MutationDetails> available = mutater.findMutations(clazz);
+        if (available.isEmpty()) {
+            return available;
+        }
+        final ClassTree tree = ClassTree.fromBytes(this.source.getBytes(clazz.asJavaName()).value());
+        this.interceptor.begin(tree);
+        final Collection<MutationDetails> mutations = this.interceptor.intercept(available, mutater);
+        this.interceptor.end();
+        final List<MutationDetails> hit = new ArrayList<>(mutations.size());
+        for (final MutationDetails details : mutations) {
+            if (this.suspChecker.isHit(details)) {
+                hit.add(details);
+            }
+        }
+        this.allMutations += mutations.size();
+        this.filteredOutMutations += mutations.size() - hit.size();
+        return hit;
+    }
+
+    private void assignTests(final Collection<MutationDetails> mutations) {
+        for (final MutationDetails details : mutations) {
+            final List<TestInfo> tests = this.testPrioritiser.assignTests(details);
+            if (tests.isEmpty()) {
+                LOG.fine("According to coverage no tests hit the mutation " + details);
+            }
+            details.addTestsInOrder(tests);
+        }
+    }
+
+    public int getAllMutations() {
+        return this.allMutations;
+    }
+
+    public int getFilteredOutMutations() {
+        return this.filteredOutMutations;
+    }
+}
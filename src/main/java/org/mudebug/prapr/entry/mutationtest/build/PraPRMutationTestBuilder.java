@@ -0,0 +1,250 @@
+package org.mudebug.prapr.entry.mutationtest.build;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.core.SuspStrategy;
+import org.mudebug.prapr.entry.report.SpectrumTable;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationAnalyser;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.KnownStatusMutationTestUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationGrouper;
+import org.pitest.mutationtest.build.WorkerFactory;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds mutation units just like PIT's <code>MutationTestBuilder</code>, except that
+ * the units are ordered by the suspiciousness of the locations they mutate, rather
+ * than by their size, so that the most probable fixes are validated first.
+ * The score of a unit is the highest suspiciousness among its mutations.
+ * Large groups are split into tiers of suspiciousness, so that the mutations of a few
+ * suspicious lines of a big class do not wait for the rest of the class, and the
+ * mutations within each unit are also ordered by suspiciousness.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class PraPRMutationTestBuilder {
+    // each unit costs a minion launch, so tiers are not split off below this size
+    private static final int MIN_TIER_SIZE = 32;
+
+    private final WorkerFactory workerFactory;
+
+    private final MutationAnalyser analyser;
+
+    private final MutationGrouper grouper;
+
+    private final SpectrumTable spectrumTable;
+
+    private final SuspStrategy suspStrategy;
+
+    /**
+     * Creates a builder for the mutations that are not analyzed before, i.e.,
+     * all of them have to be run.
+     */
+    public PraPRMutationTestBuilder(final WorkerFactory workerFactory,
+                                    final MutationGrouper grouper,
+                                    final SpectrumTable spectrumTable,
+                                    final SuspStrategy suspStrategy) {
+        this(workerFactory, notAnalysed(), grouper, spectrumTable, suspStrategy);
+    }
+
+    public PraPRMutationTestBuilder(final WorkerFactory workerFactory,
+                                    final MutationAnalyser analyser,
+                                    final MutationGrouper grouper,
+                                    final SpectrumTable spectrumTable,
+                                    final SuspStrategy suspStrategy) {
+        this.workerFactory = workerFactory;
+        this.analyser = analyser;
+        this.grouper = grouper;
+        this.spectrumTable = spectrumTable;
+        this.suspStrategy = suspStrategy;
+    }
+
+    /**
+     * @param codeClasses Classes under test
+     * @param mutations Mutations, with the tests to be run assigned to them
+     * @return Mutation units, the one with the already known results, if any, first
+     * and the rest in descending order of suspiciousness
+     */
+    public List<MutationAnalysisUnit> createMutationTestUnits(final Collection<ClassName> codeClasses,
+                                                              final Collection<MutationDetails> mutations) {
+        return createMutationTestUnits(codeClasses, mutations,
+                Collections.<MutationIdentifier, MutationDetails>emptyMap());
+    }
+
+    /**
+     * @param codeClasses Classes under test
+     * @param mutations Mutations, with the tests to be run assigned to them
+     * @param originals The details the suspiciousness of the mutations is computed from, by mutation
+     *                  identifier, for the mutations that are assigned only some of their covering tests
+     * @return Mutation units, the one with the already known results, if any, first
+     * and the rest in descending order of suspiciousness
+     */
+    public List<MutationAnalysisUnit> createMutationTestUnits(final Collection<ClassName> codeClasses,
+                                                              final Collection<MutationDetails> mutations,
+                                                              final Map<MutationIdentifier, MutationDetails> originals) {
+        final List<MutationResult> known = new ArrayList<>();
+        final List<MutationDetails> needAnalysis = new ArrayList<>();
+        for (final MutationResult result : this.analyser.analyse(mutations)) {
+            if (result.getStatus() == DetectionStatus.NOT_STARTED) {
+                needAnalysis.add(result.getDetails());
+            } else {
+                known.add(result);
+            }
+        }
+        // a cut-down test list would give wrong spectrum counts, which the spectrum table would also memoize
+        final Map<MutationIdentifier, Double> susps = new HashMap<>();
+        for (final MutationDetails details : needAnalysis) {
+            final MutationDetails original = originals.get(details.getId());
+            susps.put(details.getId(), susp(original == null ? details : original));
+        }
+        final List<ScoredUnit> scored = new ArrayList<>();
+        if (!needAnalysis.isEmpty()) {
+            for (final List<MutationDetails> group : this.grouper.groupMutations(codeClasses, needAnalysis)) {
+                for (final List<MutationDetails> tier : splitIntoTiers(group, susps)) {
+                    scored.add(new ScoredUnit(makeUnanalysedUnit(tier), score(tier, susps)));
+                }
+            }
+        }
+        Collections.sort(scored, new Comparator<ScoredUnit>() {
+            @Override
+            public int compare(final ScoredUnit su1, final ScoredUnit su2) {
+                final int bySusp = Double.compare(su2.score, su1.score);
+                return bySusp != 0 ? bySusp : Integer.compare(su2.unit.priority(), su1.unit.priority());
+            }
+        });
+        final List<MutationAnalysisUnit> units = new ArrayList<>(scored.size() + 1);
+        if (!known.isEmpty()) {
+            units.add(new KnownStatusMutationTestUnit(known));
+        }
+        for (final ScoredUnit su : scored) {
+            units.add(su.unit);
+        }
+        return units;
+    }
+
+    private List<List<MutationDetails>> splitIntoTiers(final List<MutationDetails> group,
+                                                       final Map<MutationIdentifier, Double> susps) {
+        final List<ScoredMutation> sorted = new ArrayList<>(group.size());
+        for (final MutationDetails details : group) {
+            sorted.add(new ScoredMutation(details, susps.get(details.getId())));
+        }
+        // stable, so the mutations of a line stay in the order they were found
+        Collections.sort(sorted, new Comparator<ScoredMutation>() {
+            @Override
+            public int compare(final ScoredMutation sm1, final ScoredMutation sm2) {
+                return Double.compare(sm2.susp, sm1.susp);
+            }
+        });
+        final List<List<MutationDetails>> tiers = new ArrayList<>();
+        List<MutationDetails> tier = new ArrayList<>();
+        double tierSusp = Double.NaN;
+        for (int i = 0; i < sorted.size(); i++) {
+            final ScoredMutation sm = sorted.get(i);
+            // mutations of equally suspicious locations are never separated
+            if (tier.size() >= MIN_TIER_SIZE && Double.compare(sm.susp, tierSusp) != 0
+                    && sorted.size() - i >= MIN_TIER_SIZE) {
+                tiers.add(tier);
+                tier = new ArrayList<>();
+            }
+            tier.add(sm.details);
+            tierSusp = sm.susp;
+        }
+        tiers.add(tier);
+        return tiers;
+    }
+
+    private static double score(final List<MutationDetails> group, final Map<MutationIdentifier, Double> susps) {
+        double score = Double.NEGATIVE_INFINITY;
+        for (final MutationDetails details : group) {
+            score = Math.max(score, susps.get(details.getId()));
+        }
+        return score;
+    }
+
+    // NaN, e.g., for the mutations not covered by any test, is put after everything else
+    private double susp(final MutationDetails details) {
+        final double susp = this.spectrumTable.calculateSusp(this.suspStrategy, details);
+        return Double.isNaN(susp) ? Double.NEGATIVE_INFINITY : susp;
+    }
+
+    private MutationAnalysisUnit makeUnanalysedUnit(final List<MutationDetails> group) {
+        final Set<ClassName> testClasses = new HashSet<>();
+        for (final MutationDetails details : group) {
+            FCollection.mapTo(details.getTestsInOrder(), TestInfo.toDefiningClassName(), testClasses);
+        }
+        return new PraPRMutationTestUnit(group, testClasses, this.workerFactory);
+    }
+
+    private static MutationAnalyser notAnalysed() {
+        return new MutationAnalyser() {
+            @Override
+            public Collection<MutationResult> analyse(final Collection<MutationDetails> mutations) {
+                final List<MutationResult> results = new ArrayList<>(mutations.size());
+                for (final MutationDetails details : mutations) {
+                    results.add(new MutationResult(details, new MutationStatusTestPair(0,
+                            DetectionStatus.NOT_STARTED)));
+                }
+                return results;
+            }
+        };
+    }
+
+    private static final class ScoredMutation {
+        final MutationDetails details;
+
+        final double susp;
+
+        ScoredMutation(final MutationDetails details, final double susp) {
+            this.details = details;
+            this.susp = susp;
+        }
+    }
+
+    private static final class ScoredUnit {
+        final MutationAnalysisUnit unit;
+
+        final double score;
+
+        ScoredUnit(final MutationAnalysisUnit unit, final double score) {
+            this.unit = unit;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.mudebug.prapr.entry.mutationtest.build;
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.build.MutationTestUnit;
+import org.pitest.mutationtest.build.WorkerFactory;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A mutation unit that remembers its mutations, so that they can still be reported
+ * if the unit is cancelled before it is run.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class PraPRMutationTestUnit extends MutationTestUnit {
+    private final Collection<MutationDetails> mutations;
+
+    public PraPRMutationTestUnit(final Collection<MutationDetails> mutations,
+                                 final Collection<ClassName> testClasses,
+                                 final WorkerFactory workerFactory) {
+        super(mutations, testClasses, workerFactory);
+        this.mutations = mutations;
+    }
+
+    public Collection<MutationDetails> getMutations() {
+        return Collections.unmodifiableCollection(this.mutations);
+    }
+}
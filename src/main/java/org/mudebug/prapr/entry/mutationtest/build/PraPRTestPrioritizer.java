@@ -21,12 +21,12 @@ package org.mudebug.prapr.entry.mutationtest.build;
  */
 
 import org.mudebug.prapr.core.commons.TestCaseUtil;
+import org.mudebug.prapr.core.commons.TestRegistry;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.build.DefaultTestPrioritiser;
 import org.pitest.mutationtest.engine.MutationDetails;
 
-import java.util.Collection;
 import java.util.List;
 
 /**
@@ -34,16 +34,16 @@ import java.util.List;
  * @since 2.0.3
  */
 public class PraPRTestPrioritizer extends DefaultTestPrioritiser {
-    private final Collection<String> failingTests;
+    private final TestRegistry testRegistry;
 
-    public PraPRTestPrioritizer(CoverageDatabase coverage, final Collection<String> failingTests) {
+    public PraPRTestPrioritizer(CoverageDatabase coverage, final TestRegistry testRegistry) {
         super(coverage);
-        this.failingTests = failingTests;
+        this.testRegistry = testRegistry;
     }
 
     @Override
     public List<TestInfo> assignTests(MutationDetails mutation) {
         final List<TestInfo> sortedTestCases = super.assignTests(mutation);
-        return TestCaseUtil.reorder(sortedTestCases, this.failingTests);
+        return TestCaseUtil.reorder(sortedTestCases, this.testRegistry);
     }
 }
@@ -0,0 +1,219 @@
+package org.mudebug.prapr.entry.mutationtest.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.entry.mutationtest.build.PraPRMutationTestUnit;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.KnownStatusMutationTestUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * A counterpart of PIT's <code>MutationAnalysisExecutor</code> that stops the run
+ * once its {@link RunBudget} is exhausted. Mutation units are started in the given
+ * order and their results are reported as soon as they are available. Once the budget
+ * is exhausted, the units that have not been started yet are skipped, while those
+ * already running are allowed to finish, so that the listeners receive complete
+ * results for a prefix of the units. The mutations of the skipped units are reported
+ * with the status <code>NOT_STARTED</code>, so that none of them goes missing from the
+ * reports.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class BudgetedMutationAnalysisExecutor {
+    private static final Logger LOG = Log.getLogger();
+
+    private final int numberOfThreads;
+
+    private final List<MutationResultListener> listeners;
+
+    private final RunBudget budget;
+
+    private int skippedUnits;
+
+    private int notStartedMutations;
+
+    public BudgetedMutationAnalysisExecutor(final int numberOfThreads,
+                                            final List<MutationResultListener> listeners,
+                                            final RunBudget budget) {
+        this.numberOfThreads = numberOfThreads;
+        this.listeners = listeners;
+        this.budget = budget;
+    }
+
+    public void run(final List<MutationAnalysisUnit> units) {
+        LOG.fine("Running " + units.size() + " units");
+        this.budget.start();
+        for (final MutationResultListener listener : this.listeners) {
+            listener.runStart();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads, daemonThreads());
+        try {
+            final CompletionService<MutationMetaData> completion = new ExecutorCompletionService<>(executor);
+            final Map<Future<MutationMetaData>, SkippableUnit> unitOf = new LinkedHashMap<>();
+            for (final MutationAnalysisUnit unit : units) {
+                final SkippableUnit skippable = new SkippableUnit(unit);
+                unitOf.put(completion.submit(skippable), skippable);
+            }
+            executor.shutdown();
+            boolean stopped = false;
+            for (int pending = unitOf.size(); pending > 0; ) {
+                if (!stopped && this.budget.isExhausted()) {
+                    stopped = true;
+                    LOG.info("*** STOPPING EARLY: " + this.budget.reasonOfExhaustion());
+                    // skipped units are reported right away, and yield nothing once a thread gets to them
+                    for (final SkippableUnit skippable : unitOf.values()) {
+                        if (skippable.skip()) {
+                            this.skippedUnits++;
+                            report(notStarted(skippable.unit));
+                        }
+                    }
+                }
+                // without a deadline, this waits as long as it takes
+                final Future<MutationMetaData> done = stopped ? completion.take()
+                        : completion.poll(this.budget.remainingMillis(), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    continue;
+                }
+                pending--;
+                final MutationMetaData metaData = done.get();
+                if (metaData != null) {
+                    report(metaData);
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw Unchecked.translateCheckedException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (this.skippedUnits > 0) {
+            LOG.info(String.format("*** %d/%d MUTATION UNITS HAVE NOT BEEN RUN.", this.skippedUnits, units.size()));
+            LOG.info(String.format("*** %d MUTATIONS ARE REPORTED AS NOT STARTED.", this.notStartedMutations));
+        }
+        for (final MutationResultListener listener : this.listeners) {
+            listener.runEnd();
+        }
+    }
+
+    public int getSkippedUnits() {
+        return this.skippedUnits;
+    }
+
+    public int getNotStartedMutations() {
+        return this.notStartedMutations;
+    }
+
+    private MutationMetaData notStarted(final MutationAnalysisUnit unit) {
+        // known results cost nothing to report
+        if (unit instanceof KnownStatusMutationTestUnit) {
+            try {
+                return unit.call();
+            } catch (Exception e) {
+                throw Unchecked.translateCheckedException(e);
+            }
+        }
+        final List<MutationResult> results = new ArrayList<>();
+        if (unit instanceof PraPRMutationTestUnit) {
+            for (final MutationDetails details : ((PraPRMutationTestUnit) unit).getMutations()) {
+                results.add(new MutationResult(details, new MutationStatusTestPair(0, DetectionStatus.NOT_STARTED)));
+            }
+        }
+        this.notStartedMutations += results.size();
+        return new MutationMetaData(results);
+    }
+
+    private void report(final MutationMetaData metaData) {
+        for (final ClassMutationResults cmr : metaData.toClassResults()) {
+            for (final MutationResultListener listener : this.listeners) {
+                listener.handleMutationResult(cmr);
+            }
+        }
+    }
+
+    // futures are never cancelled, as cancelling a running unit would discard its results
+    private static final class SkippableUnit implements Callable<MutationMetaData> {
+        private static final int PENDING = 0;
+
+        private static final int STARTED = 1;
+
+        private static final int SKIPPED = 2;
+
+        final MutationAnalysisUnit unit;
+
+        private final AtomicInteger state;
+
+        SkippableUnit(final MutationAnalysisUnit unit) {
+            this.unit = unit;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        // returns null if the unit has been skipped before it could start
+        @Override
+        public MutationMetaData call() throws Exception {
+            if (!this.state.compareAndSet(PENDING, STARTED)) {
+                return null;
+            }
+            return this.unit.call();
+        }
+
+        boolean skip() {
+            return this.state.compareAndSet(PENDING, SKIPPED);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        return new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public synchronized Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "prapr-mutation-analysis-" + (this.count++));
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
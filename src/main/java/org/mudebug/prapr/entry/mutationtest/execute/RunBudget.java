@@ -0,0 +1,134 @@
+package org.mudebug.prapr.entry.mutationtest.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits a run to a number of plausible fixes and/or an amount of time.
+ * A limit of zero means no limit.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class RunBudget {
+    private final int maxPlausibleFixes;
+
+    private final long timeBudgetMillis;
+
+    private final AtomicInteger plausibleFixes;
+
+    private volatile long deadline;
+
+    /**
+     * @param maxPlausibleFixes The number of plausible fixes after which the run stops
+     * @param timeBudgetSeconds The number of seconds, since the run started, after which the run stops
+     */
+    public RunBudget(final int maxPlausibleFixes, final long timeBudgetSeconds) {
+        this.maxPlausibleFixes = maxPlausibleFixes;
+        this.timeBudgetMillis = TimeUnit.SECONDS.toMillis(timeBudgetSeconds);
+        this.plausibleFixes = new AtomicInteger(0);
+        this.deadline = Long.MAX_VALUE;
+    }
+
+    public static RunBudget unlimited() {
+        return new RunBudget(0, 0);
+    }
+
+    public boolean isLimited() {
+        return this.maxPlausibleFixes > 0 || this.timeBudgetMillis > 0;
+    }
+
+    /**
+     * Starts the clock; subsequent calls have no effect.
+     */
+    public synchronized void start() {
+        if (this.timeBudgetMillis > 0 && this.deadline == Long.MAX_VALUE) {
+            this.deadline = System.currentTimeMillis() + this.timeBudgetMillis;
+        }
+    }
+
+    public void recordPlausibleFix() {
+        this.plausibleFixes.incrementAndGet();
+    }
+
+    public boolean isExhausted() {
+        return reasonOfExhaustion() != null;
+    }
+
+    /**
+     * @return Milliseconds to the deadline, or {@link Long#MAX_VALUE} if there is no deadline
+     */
+    public long remainingMillis() {
+        final long deadline = this.deadline;
+        if (deadline == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, deadline - System.currentTimeMillis());
+    }
+
+    /**
+     * @return A description of the exhausted limit, or <code>null</code> if the budget is not exhausted
+     */
+    public String reasonOfExhaustion() {
+        if (this.maxPlausibleFixes > 0 && this.plausibleFixes.get() >= this.maxPlausibleFixes) {
+            return String.format("%d PLAUSIBLE FIXES FOUND", this.plausibleFixes.get());
+        }
+        if (remainingMillis() == 0L) {
+            return String.format("TIME BUDGET OF %d SECONDS USED UP",
+                    TimeUnit.MILLISECONDS.toSeconds(this.timeBudgetMillis));
+        }
+        return null;
+    }
+
+    /**
+     * @return A listener recording every surviving mutant it receives as a plausible fix
+     */
+    public MutationResultListener plausibleFixCounter() {
+        return new MutationResultListener() {
+            @Override
+            public void runStart() {
+
+            }
+
+            @Override
+            public void handleMutationResult(final ClassMutationResults results) {
+                for (final MutationResult mr : results.getMutations()) {
+                    if (mr.getStatus() == DetectionStatus.SURVIVED) {
+                        recordPlausibleFix();
+                    }
+                }
+            }
+
+            @Override
+            public void runEnd() {
+
+            }
+        };
+    }
+}
@@ -0,0 +1,292 @@
+package org.mudebug.prapr.entry.mutationtest.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.core.commons.TestRegistry;
+import org.mudebug.prapr.entry.mutationtest.build.PraPRMutationTestBuilder;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationAnalyser;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.util.Log;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Validates the mutants in two stages. The first stage runs only the failing tests
+ * covering each mutant, and only the mutants making all of them pass, i.e., the
+ * potential plausible fixes, proceed to the second stage, where the passing tests
+ * covering them are run.
+ *
+ * The mutants are executed as usual, i.e., in mutation units run by minions, but with
+ * the tests of each stage assigned to them. Results are reported with the original
+ * mutation details, so that the reports see all the tests covering each mutant.
+ * If the {@link RunBudget} is exhausted, the remaining units of the current stage, and
+ * all the units of the second stage, are cancelled. Their mutants are reported with the
+ * status <code>NOT_STARTED</code>, along with the results obtained so far.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class StagedMutationAnalysis {
+    private static final Logger LOG = Log.getLogger();
+
+    private final PraPRMutationTestBuilder builder;
+
+    private final MutationAnalyser analyser;
+
+    private final TestRegistry testRegistry;
+
+    private final int numberOfThreads;
+
+    private final RunBudget budget;
+
+    private final Stage failingTestsStage;
+
+    private final Stage passingTestsStage;
+
+    /**
+     * @param builder Builder of the mutation units of each stage; the mutations given
+     *                to it have already been analyzed
+     * @param analyser Analyser telling the mutations whose results are already known
+     * @param testRegistry The registry of all the tests, populated during coverage analysis
+     * @param numberOfThreads Number of mutation units run concurrently
+     * @param budget Budget of the whole run
+     */
+    public StagedMutationAnalysis(final PraPRMutationTestBuilder builder,
+                                  final MutationAnalyser analyser,
+                                  final TestRegistry testRegistry,
+                                  final int numberOfThreads,
+                                  final RunBudget budget) {
+        this.builder = builder;
+        this.analyser = analyser;
+        this.testRegistry = testRegistry;
+        this.numberOfThreads = numberOfThreads;
+        this.budget = budget;
+        this.failingTestsStage = new Stage("failing tests");
+        this.passingTestsStage = new Stage("passing tests");
+    }
+
+    /**
+     * @param codeClasses Classes under test
+     * @param mutations Mutations to be analyzed, with the covering tests assigned to them
+     * @param listeners Listeners receiving the final results of all the mutations
+     */
+    public void run(final Collection<ClassName> codeClasses,
+                    final Collection<MutationDetails> mutations,
+                    final List<MutationResultListener> listeners) {
+        final List<MutationResult> results = new ArrayList<>();
+        final Map<MutationIdentifier, MutationDetails> originals = new HashMap<>();
+        final List<MutationDetails> firstStage = new ArrayList<>();
+        final List<MutationDetails> secondStage = new ArrayList<>();
+        for (final MutationResult known : this.analyser.analyse(mutations)) {
+            final MutationDetails details = known.getDetails();
+            if (known.getStatus() != DetectionStatus.NOT_STARTED) {
+                results.add(known);
+                continue;
+            }
+            originals.put(details.getId(), details);
+            final List<TestInfo> failing = selectTests(details, true);
+            if (failing.isEmpty()) {
+                // nothing can be concluded from the failing tests; all the tests are passing tests
+                secondStage.add(details);
+            } else {
+                firstStage.add(withTests(details, failing));
+            }
+        }
+
+        final Map<MutationIdentifier, MutationStatusTestPair> firstStagePairs = new HashMap<>();
+        for (final MutationResult result : execute(this.failingTestsStage, codeClasses, firstStage, originals, false)) {
+            final MutationDetails details = originals.get(result.getDetails().getId());
+            final List<TestInfo> passing = selectTests(details, false);
+            if (result.getStatus() != DetectionStatus.SURVIVED || passing.isEmpty()) {
+                if (result.getStatus() == DetectionStatus.SURVIVED) {
+                    this.budget.recordPlausibleFix();
+                }
+                results.add(new MutationResult(details, result.getStatusTestPair()));
+            } else {
+                firstStagePairs.put(details.getId(), result.getStatusTestPair());
+                secondStage.add(withTests(details, passing));
+            }
+        }
+
+        for (final MutationResult result : execute(this.passingTestsStage, codeClasses, secondStage, originals, true)) {
+            final MutationDetails details = originals.get(result.getDetails().getId());
+            final MutationStatusTestPair firstStagePair = firstStagePairs.get(details.getId());
+            final int testsRun = result.getNumberOfTestsRun()
+                    + (firstStagePair == null ? 0 : firstStagePair.getNumberOfTestsRun());
+            results.add(new MutationResult(details, new MutationStatusTestPair(testsRun, result.getStatus(),
+                    result.getKillingTest().getOrElse(null))));
+        }
+
+        LOG.info("Validation against " + this.failingTestsStage);
+        LOG.info("Validation against " + this.passingTestsStage);
+        report(results, listeners);
+    }
+
+    public void report(final PrintStream out) {
+        out.println("> validation against " + this.failingTestsStage);
+        out.println("> validation against " + this.passingTestsStage);
+    }
+
+    private Collection<MutationResult> execute(final Stage stage,
+                                               final Collection<ClassName> codeClasses,
+                                               final List<MutationDetails> mutations,
+                                               final Map<MutationIdentifier, MutationDetails> originals,
+                                               final boolean yieldsPlausibleFixes) {
+        if (mutations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final long t0 = System.currentTimeMillis();
+        // units are ordered by the suspiciousness of the original mutations, not the stage's copies
+        final List<MutationAnalysisUnit> units =
+                this.builder.createMutationTestUnits(codeClasses, mutations, originals);
+        final List<MutationResult> results = Collections.synchronizedList(new ArrayList<MutationResult>());
+        final List<MutationResultListener> listeners = new ArrayList<>();
+        listeners.add(new MutationResultListener() {
+            @Override
+            public void runStart() {
+
+            }
+
+            @Override
+            public void handleMutationResult(final ClassMutationResults classResults) {
+                results.addAll(classResults.getMutations());
+            }
+
+            @Override
+            public void runEnd() {
+
+            }
+        });
+        if (yieldsPlausibleFixes) {
+            listeners.add(this.budget.plausibleFixCounter());
+        }
+        final BudgetedMutationAnalysisExecutor executor =
+                new BudgetedMutationAnalysisExecutor(this.numberOfThreads, listeners, this.budget);
+        executor.run(units);
+        stage.mutants = mutations.size();
+        for (final MutationResult result : results) {
+            // the mutations of the units cancelled once the budget is exhausted are reported as not started
+            if (result.getStatus() != DetectionStatus.NOT_STARTED) {
+                stage.run++;
+            }
+            if (result.getStatus() == DetectionStatus.SURVIVED) {
+                stage.survived++;
+            }
+            stage.testsRun += result.getNumberOfTestsRun();
+        }
+        stage.millis = System.currentTimeMillis() - t0;
+        return results;
+    }
+
+    private List<TestInfo> selectTests(final MutationDetails details, final boolean failing) {
+        final List<TestInfo> tests = new ArrayList<>();
+        for (final TestInfo ti : details.getTestsInOrder()) {
+            if (this.testRegistry.isFailing(ti) == failing) {
+                tests.add(ti);
+            }
+        }
+        return tests;
+    }
+
+    private static MutationDetails withTests(final MutationDetails details, final List<TestInfo> tests) {
+        final PoisonStatus poison;
+        if (details.isInStaticInitializer()) {
+            poison = PoisonStatus.IS_STATIC_INITIALIZER_CODE;
+        } else if (details.mayPoisonJVM()) {
+            poison = PoisonStatus.MAY_POISON_JVM;
+        } else {
+            poison = PoisonStatus.NORMAL;
+        }
+        final MutationDetails copy = new MutationDetails(details.getId(), details.getFilename(),
+                details.getDescription(), details.getLineNumber(), details.getBlock(),
+                details.isInFinallyBlock(), poison);
+        copy.addTestsInOrder(tests);
+        return copy;
+    }
+
+    private static void report(final List<MutationResult> results, final List<MutationResultListener> listeners) {
+        final Map<ClassName, List<MutationResult>> byClass = new LinkedHashMap<>();
+        for (final MutationResult result : results) {
+            final ClassName className = result.getDetails().getClassName();
+            List<MutationResult> classResults = byClass.get(className);
+            if (classResults == null) {
+                classResults = new ArrayList<>();
+                byClass.put(className, classResults);
+            }
+            classResults.add(result);
+        }
+        for (final MutationResultListener listener : listeners) {
+            listener.runStart();
+        }
+        for (final List<MutationResult> classResults : byClass.values()) {
+            final ClassMutationResults cmr = new ClassMutationResults(classResults);
+            for (final MutationResultListener listener : listeners) {
+                listener.handleMutationResult(cmr);
+            }
+        }
+        for (final MutationResultListener listener : listeners) {
+            listener.runEnd();
+        }
+    }
+
+    private static final class Stage {
+        final String tests;
+
+        int mutants;
+
+        int run;
+
+        int survived;
+
+        long testsRun;
+
+        long millis;
+
+        Stage(final String tests) {
+            this.tests = tests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s : %d/%d mutants run, %d passed, %d tests run in %d ms",
+                    this.tests, this.run, this.mutants, this.survived, this.testsRun, this.millis);
+        }
+    }
+}
@@ -20,12 +20,27 @@ package org.mudebug.prapr.entry.mutationtest.tooling;
  * #L%
  */
 
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.mudebug.prapr.core.SharedSuspChecker;
 import org.mudebug.prapr.core.SuspChecker;
 import org.mudebug.prapr.core.analysis.GlobalInfo;
+import org.mudebug.prapr.core.analysis.GlobalInfoCache;
+import org.mudebug.prapr.core.commons.BlockCoverageStore;
+import org.mudebug.prapr.core.commons.TestRegistry;
 import org.mudebug.prapr.core.mutationtest.AugmentedEngineArguments;
+import org.mudebug.prapr.core.mutationtest.MinionStartupLog;
+import org.mudebug.prapr.core.mutationtest.engine.PraPRMutationEngine;
 import org.mudebug.prapr.entry.coverage.execute.PraPRCoverageGenerator;
 import org.mudebug.prapr.entry.mutationtest.AugmentedListenerArguments;
+import org.mudebug.prapr.entry.mutationtest.build.MutantDeduplicator;
+import org.mudebug.prapr.entry.mutationtest.build.PraPRMutationSource;
+import org.mudebug.prapr.entry.mutationtest.build.PraPRMutationTestBuilder;
 import org.mudebug.prapr.entry.mutationtest.build.PraPRTestPrioritizer;
+import org.mudebug.prapr.entry.mutationtest.execute.BudgetedMutationAnalysisExecutor;
+import org.mudebug.prapr.entry.mutationtest.execute.RunBudget;
+import org.mudebug.prapr.entry.mutationtest.execute.StagedMutationAnalysis;
+import org.mudebug.prapr.entry.report.SpectrumTable;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
@@ -50,9 +65,7 @@ import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
 import org.pitest.mutationtest.build.MutationGrouper;
 import org.pitest.mutationtest.build.MutationInterceptor;
-import org.pitest.mutationtest.build.MutationSource;
 import org.pitest.mutationtest.build.MutationTestBuilder;
-import org.pitest.mutationtest.build.MutationTestUnit;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
 import org.pitest.mutationtest.build.TestPrioritiser;
 import org.pitest.mutationtest.build.WorkerFactory;
@@ -76,13 +89,13 @@ import org.pitest.util.Timings;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Field;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -111,9 +124,19 @@ public class MutationCoverage {
 
     private final SettingsFactory settings;
 
-    private final Collection<String> failingTests;
+    private final TestRegistry testRegistry;
 
-    private final int allTestsCount;
+    private long sharedArtifactsBytes;
+
+    private long sharedArtifactsMillis;
+
+    private long engineArgumentsBytes;
+
+    private MinionStartupLog minionStartupLog;
+
+    private StagedMutationAnalysis stagedMutationAnalysis;
+
+    private MutantDeduplicator mutantDeduplicator;
 
     public MutationCoverage(final MutationStrategies strategies,
                             final File baseDir,
@@ -121,16 +144,14 @@ public class MutationCoverage {
                             final ReportOptions data,
                             final SettingsFactory settings,
                             final Timings timings,
-                            final Collection<String> failingTests,
-                            final int allTestsCount) {
+                            final TestRegistry testRegistry) {
         this.strategies = strategies;
         this.data = (PraPRReportOptions) data;
         this.settings = settings;
         this.timings = timings;
         this.code = code;
         this.baseDir = baseDir;
-        this.failingTests = failingTests;
-        this.allTestsCount = allTestsCount;
+        this.testRegistry = testRegistry;
     }
 
     public CombinedStatistics runReport() throws IOException {
@@ -162,17 +183,21 @@ public class MutationCoverage {
         Log.getLogger().info("Collecting some general info about the program...");
         final List<File> expandedClassPathElements = new ArrayList<>();
         expandClassPathElements(data.getClassPathElements(), expandedClassPathElements);
-        final GlobalInfo classHierarchy = GlobalInfo.construct(expandedClassPathElements);
+        final GlobalInfo classHierarchy =
+                memoryMapped(GlobalInfo.construct(expandedClassPathElements, globalInfoCache()));
         Log.getLogger().info("DONE");
 
-        final SuspChecker suspChecker = ((PraPRCoverageGenerator) coverageGenerator).getSuspChecker();
+        final SuspChecker suspChecker = shared(((PraPRCoverageGenerator) coverageGenerator).getSuspChecker());
 
-        EngineArguments args = AugmentedEngineArguments.arguments()
+        AugmentedEngineArguments args = AugmentedEngineArguments.arguments()
                 .withExcludedMethods(data.getExcludedMethods())
                 .withMutators(data.getMutators())
                 .withSuspChecker(suspChecker)
                 .withClassHierarchy(classHierarchy);
         final MutationEngine engine = this.strategies.factory().createEngine(args);
+        // only the minions record how long it takes them to generate their first mutant
+        final EngineArguments minionArgs = args.withStartupLog(minionStartupLog());
+        this.engineArgumentsBytes = serializedSize(minionArgs);
 
         ClassByteArraySource cbas = fallbackToClassLoader(new ClassPathByteArraySource(this.data.getClassPath()));
 
@@ -180,22 +205,77 @@ public class MutationCoverage {
 
         history().initialize();
 
+        // in failing-tests-first mode, coverage of the passing tests might still be on its way,
+        // so mutations are found beforehand, and tests are assigned to them once it has arrived
         this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
-        final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData, engine, cbas, args, suspChecker);
-        this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
+        final PraPRMutationSource source = mutationSource(coverageData, engine, cbas, suspChecker);
+        source.prefetch(this.code.getCodeUnderTestNames());
+        ((PraPRCoverageGenerator) coverageGenerator).awaitCoverage();
+        final BlockCoverageStore blockCoverage = ((PraPRCoverageGenerator) coverageGenerator).getBlockCoverage();
+        LOG.fine("Block coverage of " + blockCoverage.size() + " blocks keeps test ids in "
+                + (blockCoverage.getTestIdsBytes() / 1024) + " kb");
+
+        final RunBudget budget = new RunBudget(this.data.getMaxPlausibleFixes(), this.data.getTimeBudget());
+        if (shouldStageValidation()) {
+            final List<MutationDetails> mutations = deduplicate(findMutations(source), engine, cbas);
+            this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
+
+            LOG.info("Found " + mutations.size() + " mutations to be validated in two stages");
+            checkMutationsFound(mutations);
+
+            recordClassPath(coverageData);
+
+            final StagedMutationAnalysis sma = new StagedMutationAnalysis(
+                    new PraPRMutationTestBuilder(workerFactory(engine, minionArgs), mutationGrouper(), spectrumTable(),
+                            this.data.getSuspStrategy()),
+                    mutationAnalyser(coverageData), this.testRegistry, numberOfThreads(), budget);
+            this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+            sma.run(this.code.getCodeUnderTestNames(), mutations, reportListeners(config));
+            this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+            this.stagedMutationAnalysis = sma;
+        } else if (budget.isLimited() || this.data.isSuspOrderedScheduling() || this.data.isDedupMutants()) {
+            final List<MutationDetails> mutations = deduplicate(findMutations(source), engine, cbas);
+            final PraPRMutationTestBuilder builder = new PraPRMutationTestBuilder(workerFactory(engine, minionArgs),
+                    mutationAnalyser(coverageData), mutationGrouper(), spectrumTable(), this.data.getSuspStrategy());
+            final List<MutationAnalysisUnit> tus =
+                    builder.createMutationTestUnits(this.code.getCodeUnderTestNames(), mutations);
+            this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
+
+            LOG.info("Created  " + tus.size() + " mutation test units in descending order of suspiciousness");
+            checkMutationsFound(tus);
+
+            recordClassPath(coverageData);
+
+            // the budget is checked as results arrive, so plausible fixes are counted along with the reports
+            final List<MutationResultListener> listeners = new ArrayList<>(reportListeners(config));
+            listeners.add(budget.plausibleFixCounter());
+            final BudgetedMutationAnalysisExecutor bmae =
+                    new BudgetedMutationAnalysisExecutor(numberOfThreads(), listeners, budget);
+            this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+            bmae.run(tus);
+            this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+        } else {
+            final List<MutationAnalysisUnit> tus = buildMutationTests(source, coverageData, engine, minionArgs);
+            this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
-        LOG.info("Created  " + tus.size() + " mutation test units");
-        checkMutationsFound(tus);
+            LOG.info("Created  " + tus.size() + " mutation test units");
+            if (engine instanceof PraPRMutationEngine) {
+                LOG.fine("Class information cache after mutant discovery "
+                        + ((PraPRMutationEngine) engine).getClassInfoCache());
+            }
+            checkMutationsFound(tus);
 
-        recordClassPath(coverageData);
+            recordClassPath(coverageData);
 
-        LOG.fine("Used memory before analysis start " + ((runtime.totalMemory() - runtime.freeMemory()) / MB) + " mb");
-        LOG.fine("Free Memory before analysis start " + (runtime.freeMemory() / MB) + " mb");
+            LOG.fine("Used memory before analysis start "
+                    + ((runtime.totalMemory() - runtime.freeMemory()) / MB) + " mb");
+            LOG.fine("Free Memory before analysis start " + (runtime.freeMemory() / MB) + " mb");
 
-        final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(numberOfThreads(), config);
-        this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-        mae.run(tus);
-        this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+            final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(numberOfThreads(), config);
+            this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+            mae.run(tus);
+            this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+        }
 
         LOG.info("Completed in " + timeSpan(t0));
 
@@ -204,6 +284,75 @@ public class MutationCoverage {
         return new CombinedStatistics(stats.getStatistics(), coverageData.createSummary());
     }
 
+    private GlobalInfoCache globalInfoCache() {
+        final File cacheDirectory = this.data.getCacheDirectory();
+        if (cacheDirectory == null) {
+            return null;
+        }
+        return new GlobalInfoCache(new File(cacheDirectory, "global-info"));
+    }
+
+    // keeps the class hierarchy off the heap by mapping it from a file in the report directory.
+    // the mapped class hierarchy is shipped to mutation minions by reference.
+    private GlobalInfo memoryMapped(final GlobalInfo classHierarchy) {
+        LOG.fine("Class hierarchy occupies " + (classHierarchy.sizeInBytes() / 1024) + " kb");
+        final long t0 = System.currentTimeMillis();
+        try {
+            final File file = new File(sharedArtifactsDirectory(), "global-info.bin");
+            classHierarchy.writeTo(file);
+            final GlobalInfo mapped = GlobalInfo.map(file);
+            this.sharedArtifactsBytes += file.length();
+            this.sharedArtifactsMillis += System.currentTimeMillis() - t0;
+            return mapped;
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unable to memory-map class hierarchy", e);
+            return classHierarchy;
+        }
+    }
+
+    // writes suspiciousness information once so that minions can load it from the disk
+    private SuspChecker shared(final SuspChecker suspChecker) {
+        final long t0 = System.currentTimeMillis();
+        try {
+            final SharedSuspChecker shared =
+                    SharedSuspChecker.share(suspChecker, new File(sharedArtifactsDirectory(), "susp-checker.bin"));
+            this.sharedArtifactsBytes += shared.getFile().length();
+            this.sharedArtifactsMillis += System.currentTimeMillis() - t0;
+            return shared;
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unable to share suspiciousness information", e);
+            return suspChecker;
+        }
+    }
+
+    private MinionStartupLog minionStartupLog() {
+        try {
+            this.minionStartupLog =
+                    MinionStartupLog.create(new File(sharedArtifactsDirectory(), "minion-startup.log"));
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unable to record minion startup latencies", e);
+        }
+        return this.minionStartupLog;
+    }
+
+    private File sharedArtifactsDirectory() throws IOException {
+        final File reportDir = new File(this.data.getReportDir());
+        if (!reportDir.isDirectory() && !reportDir.mkdirs()) {
+            throw new IOException("unable to create " + reportDir.getAbsolutePath());
+        }
+        return reportDir;
+    }
+
+    private static long serializedSize(final Serializable object) {
+        final CountingOutputStream cos = new CountingOutputStream(NullOutputStream.NULL_OUTPUT_STREAM);
+        try (final ObjectOutputStream oos = new ObjectOutputStream(cos)) {
+            oos.writeObject(object);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unable to measure the size of " + object, e);
+        }
+        return cos.getByteCount();
+    }
+
     // recommended JVM requirements: JDK 1.7 or JDK 1.8
     private void expandClassPathElements(final Collection<String> classPathElements, final List<File> out) {
         for (final String cpe : classPathElements) {
@@ -251,7 +400,7 @@ public class MutationCoverage {
 
         final ListenerArguments args = new AugmentedListenerArguments(this.strategies.output(),
                 coverageData, new SmartSourceLocator(this.data.getSourceDirs()),
-                engine, cbas, t0, this.data.getSuspStrategy(), this.failingTests, this.allTestsCount,
+                engine, cbas, t0, this.data.getSuspStrategy(), this.testRegistry,
                 this.data.isVerboseReport());
 
         final MutationResultListener mutationReportListener = this.strategies.listenerFactory()
@@ -292,6 +441,16 @@ public class MutationCoverage {
         ps.println("- Timings");
         ps.println(StringUtil.separatorLine('='));
         this.timings.report(ps);
+        ps.println(String.format("> shared artifacts : %d kb written once in %d ms", this.sharedArtifactsBytes / 1024,
+                this.sharedArtifactsMillis));
+        ps.println(String.format("> engine arguments : %d bytes sent to each minion", this.engineArgumentsBytes));
+        final String minionStartup = this.minionStartupLog == null ? null : this.minionStartupLog.summarize();
+        if (minionStartup != null) {
+            ps.println("> minion startup : " + minionStartup + " until the first mutant");
+        }
+        if (this.stagedMutationAnalysis != null) {
+            this.stagedMutationAnalysis.report(ps);
+        }
 
         ps.println(StringUtil.separatorLine('='));
         ps.println("- Statistics");
@@ -307,16 +466,60 @@ public class MutationCoverage {
         }
     }
 
-    private List<MutationAnalysisUnit> buildMutationTests(final CoverageDatabase coverageData,
+    private List<MutationAnalysisUnit> buildMutationTests(final PraPRMutationSource source,
+                                                          final CoverageDatabase coverageData,
                                                           final MutationEngine engine,
-                                                          final ClassByteArraySource bas,
-                                                          final EngineArguments args,
-                                                          final SuspChecker suspChecker) {
+                                                          final EngineArguments args) {
+        final MutationTestBuilder builder = new MutationTestBuilder(workerFactory(engine, args),
+                mutationAnalyser(coverageData), source, mutationGrouper());
+
+        final List<MutationAnalysisUnit> result = builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
+
+        LOG.info(String.format("*** %d/%d MUTATIONS HAVE BEEN FILTERED OUT.",
+                source.getFilteredOutMutations(), source.getAllMutations()));
+
+        return result;
+    }
+
+    private List<MutationDetails> findMutations(final PraPRMutationSource source) {
+        final List<MutationDetails> result = new ArrayList<>();
+        for (final ClassName codeClass : this.code.getCodeUnderTestNames()) {
+            result.addAll(source.createMutations(codeClass));
+        }
+
+        LOG.info(String.format("*** %d/%d MUTATIONS HAVE BEEN FILTERED OUT.",
+                source.getFilteredOutMutations(), source.getAllMutations()));
+
+        return result;
+    }
+
+    private List<MutationDetails> deduplicate(final List<MutationDetails> mutations,
+                                              final MutationEngine engine,
+                                              final ClassByteArraySource bas) {
+        if (!this.data.isDedupMutants()) {
+            return mutations;
+        }
+        this.mutantDeduplicator = new MutantDeduplicator(engine.createMutator(bas));
+        return this.mutantDeduplicator.deduplicate(mutations);
+    }
+
+    // duplicate mutations are not run, yet the reports receive their results
+    private List<MutationResultListener> reportListeners(final List<MutationResultListener> config) {
+        if (this.mutantDeduplicator == null) {
+            return config;
+        }
+        return Collections.singletonList(this.mutantDeduplicator.duplicating(config));
+    }
+
+    private PraPRMutationSource mutationSource(final CoverageDatabase coverageData,
+                                               final MutationEngine engine,
+                                               final ClassByteArraySource bas,
+                                               final SuspChecker suspChecker) {
         final MutationConfig mutationConfig = new MutationConfig(engine, coverage().getLaunchOptions());
 
         final TestPrioritiser testPrioritiser;
         if (this.data.shouldReorderTestCases()) {
-            testPrioritiser = new PraPRTestPrioritizer(coverageData, this.failingTests);
+            testPrioritiser = new PraPRTestPrioritizer(coverageData, this.testRegistry);
         } else {
             testPrioritiser = this.settings.getTestPrioritiser()
                     .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code, coverageData);
@@ -324,55 +527,37 @@ public class MutationCoverage {
 
         MutationInterceptor interceptor = this.settings.getInterceptor().createInterceptor(this.data, bas);
 
-        final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+        return new PraPRMutationSource(mutationConfig, testPrioritiser, bas, interceptor, suspChecker);
+    }
 
-        final MutationAnalyser analyser =
-                new IncrementalAnalyser(new DefaultCodeHistory(this.code, history()), coverageData);
+    private MutationAnalyser mutationAnalyser(final CoverageDatabase coverageData) {
+        return new IncrementalAnalyser(new DefaultCodeHistory(this.code, history()), coverageData);
+    }
 
-        final WorkerFactory wf = new WorkerFactory(this.baseDir, coverage().getConfiguration(), mutationConfig, args,
+    private WorkerFactory workerFactory(final MutationEngine engine, final EngineArguments args) {
+        final MutationConfig mutationConfig = new MutationConfig(engine, coverage().getLaunchOptions());
+        return new WorkerFactory(this.baseDir, coverage().getConfiguration(), mutationConfig, args,
                 new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(), this.data.getTimeoutConstant()),
                 this.data.isVerbose(), this.data.getClassPath().getLocalClassPath());
+    }
 
-        MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(this.data.getFreeFormProperties(),
-                this.code, this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
-        final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser, source, grouper);
-
-        final List<MutationAnalysisUnit> result = builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
-
-        filterOutNotHitMutations(result, suspChecker);
+    // a table of its own, as the one shared by the report listeners is created along with them
+    private SpectrumTable spectrumTable() {
+        return new SpectrumTable(this.testRegistry);
+    }
 
-        return result;
+    private MutationGrouper mutationGrouper() {
+        return this.settings.getMutationGrouper().makeFactory(this.data.getFreeFormProperties(),
+                this.code, this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     }
 
-    private void filterOutNotHitMutations(final List<MutationAnalysisUnit> result,
-                                          final SuspChecker suspChecker) {
-        try {
-            int allMutations = 0;
-            int filteredOutMutations = 0;
-            for (final MutationAnalysisUnit mau : result) {
-                if (mau instanceof MutationTestUnit) {
-                    allMutations += mau.priority();
-                    final Field availableMutationsField =
-                            MutationTestUnit.class.getDeclaredField("availableMutations");
-                    availableMutationsField.setAccessible(true);
-                    final Collection availableMutations = (Collection) availableMutationsField.get(mau);
-                    final Iterator it = availableMutations.iterator();
-                    while (it.hasNext()) {
-                        if (!suspChecker.isHit((MutationDetails) it.next())) {
-                            filteredOutMutations++;
-                            it.remove();
-                        }
-                    }
-                }
-            }
-            Log.getLogger().info(String.format("*** %d/%d MUTATIONS HAVE BEEN FILTERED OUT.", filteredOutMutations, allMutations));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    // the first stage only runs failing tests, so there must be some
+    private boolean shouldStageValidation() {
+        return this.data.isStagedValidation() && this.testRegistry.getFailingTestsCount() > 0;
     }
 
-    private void checkMutationsFound(final List<MutationAnalysisUnit> tus) {
-        if (tus.isEmpty()) {
+    private void checkMutationsFound(final Collection<?> mutations) {
+        if (mutations.isEmpty()) {
             if (this.data.shouldFailWhenNoMutations()) {
                 throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
             } else {
@@ -98,8 +98,7 @@ public class PraPREntryPoint extends EntryPoint {
 
         final MutationCoverage report = new MutationCoverage(strategies,
                 baseDir, code, data, settings, timings,
-                coverageDatabase.getInferredFailingTests(),
-                coverageDatabase.getAllTestsCount());
+                coverageDatabase.getTestRegistry());
 
         try {
             return AnalysisResult.success(report.runReport());
@@ -20,14 +20,6 @@ package org.mudebug.prapr.entry.report;
  * #L%
  */
 
-import org.mudebug.prapr.core.SuspStrategy;
-import org.mudebug.prapr.core.commons.TestCaseUtil;
-import org.pitest.coverage.TestInfo;
-import org.pitest.mutationtest.engine.MutationDetails;
-
-import java.util.Collection;
-import java.util.HashSet;
-
 /**
  * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
  * @since 1.0.0
@@ -45,25 +37,4 @@ public final class Commons {
         }
         return mutator;
     }
-
-    public static double calculateSusp(final SuspStrategy suspStrategy,
-                                       final MutationDetails mutationDetails,
-                                       Collection<String> failingTests,
-                                       final int allTestsCount) {
-        final int allFailingTestsCount = failingTests.size();
-        failingTests = new HashSet<>(failingTests); // make a copy
-        int ef = 0;
-        int ep = 0;
-        for (final TestInfo ti : mutationDetails.getTestsInOrder()) {
-            if (TestCaseUtil.contains(failingTests, ti)) {
-                ef++;
-                TestCaseUtil.remove(failingTests, ti);
-            } else {
-                ep++;
-            }
-        }
-        final int nf = failingTests.size();
-        final int np = allTestsCount - allFailingTestsCount - ep;
-        return suspStrategy.computeSusp(ef, ep, nf, np);
-    }
 }
@@ -0,0 +1,97 @@
+package org.mudebug.prapr.entry.report;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.mudebug.prapr.core.SuspStrategy;
+import org.mudebug.prapr.core.commons.TestRegistry;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.ClassLine;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spectrum counters (ef, ep, nf, and np) of mutated locations.
+ *
+ * The tests assigned to a mutation are those covering its line, or those
+ * covering its class if it sits in a static initializer. Therefore, the
+ * counters are computed once per line (resp. class) and looked up for all
+ * the other mutations at the same location. A single table is shared among
+ * all the report listeners of a run.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public final class SpectrumTable {
+    private final TestRegistry testRegistry;
+
+    // ef and ep of each location packed into a long
+    private final Map<ClassLine, Long> lines;
+
+    private final Map<ClassName, Long> staticInitializers;
+
+    /**
+     * @param testRegistry The registry of all the tests, populated during coverage analysis
+     */
+    public SpectrumTable(final TestRegistry testRegistry) {
+        this.testRegistry = testRegistry;
+        this.lines = new HashMap<>();
+        this.staticInitializers = new HashMap<>();
+    }
+
+    public double calculateSusp(final SuspStrategy suspStrategy, final MutationDetails mutationDetails) {
+        final long counts = counts(mutationDetails);
+        final int ef = (int) (counts >>> 32);
+        final int ep = (int) counts;
+        final int failingTestsCount = this.testRegistry.getFailingTestsCount();
+        final int nf = failingTestsCount - ef;
+        final int np = this.testRegistry.size() - failingTestsCount - ep;
+        return suspStrategy.computeSusp(ef, ep, nf, np);
+    }
+
+    private synchronized long counts(final MutationDetails mutationDetails) {
+        Long counts;
+        if (mutationDetails.isInStaticInitializer()) {
+            counts = this.staticInitializers.get(mutationDetails.getClassName());
+            if (counts == null) {
+                counts = count(mutationDetails);
+                this.staticInitializers.put(mutationDetails.getClassName(), counts);
+            }
+        } else {
+            counts = this.lines.get(mutationDetails.getClassLine());
+            if (counts == null) {
+                counts = count(mutationDetails);
+                this.lines.put(mutationDetails.getClassLine(), counts);
+            }
+        }
+        return counts;
+    }
+
+    // a failing test is counted once, even if several tests are sanitized to its name
+    private long count(final MutationDetails mutationDetails) {
+        final int coveringTestsCount = mutationDetails.getTestsInOrder().size();
+        final int ef = this.testRegistry.failingAmong(mutationDetails.getTestsInOrder()).cardinality();
+        final int ep = coveringTestsCount - ef;
+        return ((long) ef << 32) | (ep & 0xFFFFFFFFL);
+    }
+}
@@ -38,7 +38,7 @@ public class CompressedXMLFactory implements MutationResultListenerFactory {
         final CompressedDirectoryResultOutputStrategy cdros =
                 CompressedDirectoryResultOutputStrategy.forResultOutputStrategy(arguments.getOutputStrategy());
         return new CompressedXMLReportListener(cdros, arguments.getSuspStrategy(),
-                arguments.getFailingTests(), arguments.getAllTestsCount());
+                arguments.getSpectrumTable());
     }
 
     @Override
@@ -36,11 +36,10 @@ import static org.mudebug.prapr.entry.report.compressedxml.Tag.sourceFile;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Collection;
 import java.util.List;
 
 import org.mudebug.prapr.core.SuspStrategy;
-import org.mudebug.prapr.entry.report.Commons;
+import org.mudebug.prapr.entry.report.SpectrumTable;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassMutationResults;
@@ -73,24 +72,20 @@ enum Tag {
 public class CompressedXMLReportListener implements MutationResultListener {
     private final Writer out;
     private final SuspStrategy suspStrategy;
-    private final Collection<String> failingTests;
-    private final int allTestsCount;
+    private final SpectrumTable spectrumTable;
 
     public CompressedXMLReportListener(final CompressedDirectoryResultOutputStrategy outputStrategy,
                                        final SuspStrategy suspStrategy,
-                                       final Collection<String> failingTests,
-                                       final int allTestsCount) {
-        this(outputStrategy.createWriterForFile("mutations.xml.gz"), suspStrategy, failingTests, allTestsCount);
+                                       final SpectrumTable spectrumTable) {
+        this(outputStrategy.createWriterForFile("mutations.xml.gz"), suspStrategy, spectrumTable);
     }
 
     private CompressedXMLReportListener(final Writer out,
                                        final SuspStrategy suspStrategy,
-                                       final Collection<String> failingTests,
-                                       final int allTestsCount) {
+                                       final SpectrumTable spectrumTable) {
         this.out = out;
         this.suspStrategy = suspStrategy;
-        this.failingTests = failingTests;
-        this.allTestsCount = allTestsCount;
+        this.spectrumTable = spectrumTable;
     }
 
     private void writeResult(final ClassMutationResults metaData) {
@@ -127,7 +122,7 @@ public class CompressedXMLReportListener implements MutationResultListener {
     }
 
     private double getSusp(final MutationDetails details) {
-        return Commons.calculateSusp(this.suspStrategy, details, this.failingTests, this.allTestsCount);
+        return this.spectrumTable.calculateSusp(this.suspStrategy, details);
     }
 
     private String clean(final String value) {
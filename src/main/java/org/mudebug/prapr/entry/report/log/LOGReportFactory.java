@@ -50,7 +50,7 @@ public class LOGReportFactory implements MutationResultListenerFactory {
         final Mutater mutater = arguments.getEngine().createMutator(arguments.getClassByteArraySource());
         final File poolDirectory = new File(getReportDirectory(arguments.getOutputStrategy()), "pool");
         return new LOGReportListener(arguments.getOutputStrategy(), poolDirectory, arguments.getSuspStrategy(),
-                arguments.getFailingTests(), arguments.getAllTestsCount(), mutater, arguments.shouldDumpMutations());
+                arguments.getSpectrumTable(), mutater, arguments.shouldDumpMutations());
     }
 
     private File getReportDirectory(final ResultOutputStrategy outputStrategy) {
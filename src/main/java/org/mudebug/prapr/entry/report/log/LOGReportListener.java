@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.mudebug.prapr.core.SuspStrategy;
+import org.mudebug.prapr.entry.report.SpectrumTable;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.ClassMutationResults;
@@ -47,7 +48,6 @@ import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.util.ResultOutputStrategy;
 
-import static org.mudebug.prapr.entry.report.Commons.calculateSusp;
 import static org.mudebug.prapr.entry.report.Commons.sanitizeMutatorName;
 
 /**
@@ -71,13 +71,13 @@ public class LOGReportListener implements MutationResultListener {
 
     private final List<MutationResult> survivedMutations;
 
+    private int notValidatedCount;
+
     private final Set<MutationResultWrapper> allMutations;
 
     private final SuspStrategy suspStrategy;
 
-    private final Collection<String> failingTests;
-
-    private final int allTestsCount;
+    private final SpectrumTable spectrumTable;
 
     private final Mutater mutater;
 
@@ -88,8 +88,7 @@ public class LOGReportListener implements MutationResultListener {
     public LOGReportListener(final ResultOutputStrategy outStrategy,
                              final File poolDirectory,
                              final SuspStrategy suspStrategy,
-                             final Collection<String> failingTests,
-                             final int allTestsCount,
+                             final SpectrumTable spectrumTable,
                              final Mutater mutater,
                              final boolean shouldDumpMutations) {
         this.poolDirectory = poolDirectory;
@@ -99,8 +98,7 @@ public class LOGReportListener implements MutationResultListener {
         this.survivedMutations = new ArrayList<>();
         this.allMutations = new HashSet<>();
         this.suspStrategy = suspStrategy;
-        this.failingTests = failingTests;
-        this.allTestsCount = allTestsCount;
+        this.spectrumTable = spectrumTable;
         this.allRanks = new HashMap<>();
         this.plRanks = new HashMap<>();
         this.dumpFiles = new HashMap<>();
@@ -145,7 +143,7 @@ public class LOGReportListener implements MutationResultListener {
         for (final List<MutationResult> mrl : mutationsSuperList) {
             for (final MutationResult mr : mrl) {
                 final MutationDetails md = mr.getDetails();
-                final Double susp = calculateSusp(this.suspStrategy, md, this.failingTests, this.allTestsCount);
+                final Double susp = this.spectrumTable.calculateSusp(this.suspStrategy, md);
                 List<MutationDetails> group = mutationsGroupedMap.get(susp);
                 if (group == null) {
                     group = new ArrayList<>();
@@ -247,6 +245,9 @@ public class LOGReportListener implements MutationResultListener {
         final int totalSize = this.killedMutations.size() + plausiblesSize;
         writeln("Number of Plausible Fixes: " + plausiblesSize);
         writeln("Total Number of Patches: " + totalSize);
+        if (this.notValidatedCount > 0) {
+            writeln("Number of Patches Not Validated: " + this.notValidatedCount);
+        }
         thickLine();
         if (plausiblesSize == 0) {
             writeln("No fix found!");
@@ -281,6 +282,7 @@ public class LOGReportListener implements MutationResultListener {
             thinLine();
         }
     }
+
     
     private void printMutationDetails(int row, MutationDetails md) {
         writeln(String.format("%d.", row));
@@ -326,6 +328,9 @@ public class LOGReportListener implements MutationResultListener {
                     if (this.shouldDumpMutations) {
                         this.dumpFiles.put(mr.getDetails(), getDumpFile());
                     }
+                } else if (mr.getStatus() == DetectionStatus.NOT_STARTED) {
+                    // cancelled once the run budget was exhausted, so it is neither a fix nor a rejected patch
+                    this.notValidatedCount++;
                 } else {
                     this.killedMutations.add(mr);
                 }
@@ -0,0 +1,116 @@
+package org.mudebug.prapr.entry.report.plausible;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+import org.mudebug.prapr.core.SuspStrategy;
+import org.mudebug.prapr.entry.report.SpectrumTable;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+import static org.mudebug.prapr.entry.report.Commons.sanitizeMutatorName;
+
+/**
+ * Writes plausible fixes as soon as they are reported, so that they can be inspected
+ * long before the run, and the ranked fix report, is complete. Fixes appear in the
+ * order they are found; they are not ranked.
+ *
+ * This is an opt-in output format. Results are reported as they arrive only when units
+ * are scheduled by suspiciousness, i.e., with suspOrderedScheduling, maxPlausibleFixes,
+ * or timeBudget. With stagedValidation, and with the default scheduling, this listener
+ * receives all the results at the end of the run, just like the other reports.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class PlausibleFixesReportListener implements MutationResultListener {
+    private final Writer out;
+
+    private final SuspStrategy suspStrategy;
+
+    private final SpectrumTable spectrumTable;
+
+    private long startTime;
+
+    private int count;
+
+    public PlausibleFixesReportListener(final Writer out,
+                                        final SuspStrategy suspStrategy,
+                                        final SpectrumTable spectrumTable) {
+        this.out = out;
+        this.suspStrategy = suspStrategy;
+        this.spectrumTable = spectrumTable;
+    }
+
+    @Override
+    public void runStart() {
+        this.startTime = System.currentTimeMillis();
+        write(String.format("PraPR 2 (JDK 1.7) Plausible Fixes, As Found - %s%n", new Date()));
+    }
+
+    @Override
+    public void handleMutationResult(final ClassMutationResults results) {
+        final StringBuilder sb = new StringBuilder();
+        for (final MutationResult mr : results.getMutations()) {
+            if (mr.getStatus() == DetectionStatus.SURVIVED) {
+                final MutationDetails md = mr.getDetails();
+                sb.append(String.format("%d. [%d s]%n", ++this.count,
+                        (System.currentTimeMillis() - this.startTime) / 1000L));
+                sb.append(String.format("\tMutator: %s%n", sanitizeMutatorName(md.getMutator())));
+                sb.append(String.format("\tDescription: %s%n", md.getDescription()));
+                sb.append(String.format("\tClass: %s%n", md.getClassName().asJavaName()));
+                sb.append(String.format("\tLine Number: %d%n", md.getLineNumber()));
+                sb.append(String.format("\tSuspiciousness: %s%n",
+                        this.spectrumTable.calculateSusp(this.suspStrategy, md)));
+            }
+        }
+        if (sb.length() > 0) {
+            write(sb.toString());
+        }
+    }
+
+    @Override
+    public void runEnd() {
+        write(String.format("Number of Plausible Fixes: %d%n", this.count));
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            throw Unchecked.translateCheckedException(e);
+        }
+    }
+
+    // flushing after each write is what makes the fixes visible while the run goes on
+    private void write(final String s) {
+        try {
+            this.out.write(s);
+            this.out.flush();
+        } catch (IOException e) {
+            throw Unchecked.translateCheckedException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.pitest.classinfo;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.pitest.reloc.asm.ClassReader;
+import org.pitest.reloc.asm.ClassWriter;
+
+/**
+ * A {@link ComputeClassWriter} that is built upon the {@link ClassReader} of the
+ * class being mutated, so that the constant pool is copied as a whole and the
+ * methods left untouched by the visitors are copied as they are instead of being
+ * re-assembled.
+ *
+ * Workaround! This class lives here only to reach the type hierarchy resolution
+ * of {@link ComputeClassWriter}, which does not offer such a constructor.
+ *
+ * @author Ali Ghanbari (ali.ghanbari@utdallas.edu)
+ * @since 2.0.3
+ */
+public class PraPRComputeClassWriter extends ClassWriter {
+    private final ComputeClassWriter hierarchy;
+
+    /**
+     * @param classReader Reader of the original class
+     * @param hierarchy A writer, typically shared among all the mutants generated by a mutater,
+     *                  that is only used for resolving common super classes
+     * @param flags Flags to be passed to {@link ClassWriter}
+     */
+    public PraPRComputeClassWriter(final ClassReader classReader,
+                                   final ComputeClassWriter hierarchy,
+                                   final int flags) {
+        super(classReader, flags);
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    protected String getCommonSuperClass(final String type1, final String type2) {
+        return this.hierarchy.getCommonSuperClass(type1, type2);
+    }
+}
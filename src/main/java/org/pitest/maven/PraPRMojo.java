@@ -36,6 +36,7 @@ import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.tooling.CombinedStatistics;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -85,6 +86,82 @@ public class PraPRMojo extends AbstractPitMojo {
     @Parameter(property = "verboseReport", defaultValue = "true")
     private boolean verboseReport;
 
+    /**
+     * The directory in which PraPR keeps information that can be reused across runs on the same project,
+     * e.g. class hierarchy of the third-party jar files.
+     * By default, this is prapr-cache under the build directory of the project.
+     */
+    @Parameter(property = "cacheDirectory", defaultValue = "${project.build.directory}/prapr-cache")
+    private File cacheDirectory;
+
+    /**
+     * The number of coverage minions (i.e., JVMs) that run the test classes concurrently
+     * during coverage analysis. Test classes are distributed among the minions, so
+     * tests that depend on other test classes being run earlier in the same JVM might behave differently.
+     * By default, this is 1, i.e., all the tests are run in a single JVM.
+     */
+    @Parameter(property = "coverageMinions", defaultValue = "1")
+    private int coverageMinions;
+
+    /**
+     * When failing tests are specified, first calculates coverage of the test classes containing them,
+     * which is all that is needed for deciding what to mutate, and calculates coverage of the
+     * rest of the tests, restricted to the classes covered by the failing tests, in the background
+     * while PraPR collects information about the program and finds the mutations. Coverage of the
+     * rest of the tests is then not cached. By default, this is false, i.e., coverage of all the tests is calculated upfront.
+     */
+    @Parameter(property = "failingTestsFirst", defaultValue = "false")
+    private boolean failingTestsFirst;
+
+    /**
+     * Validates the mutants in two stages: first, only the failing tests are run against all the mutants,
+     * and then the passing tests are run against the mutants that make all the failing tests pass.
+     * Results are reported once both stages are over.
+     * By default, this is false, i.e., each mutant is run against all of its covering tests at once.
+     */
+    @Parameter(property = "stagedValidation", defaultValue = "false")
+    private boolean stagedValidation;
+
+    /**
+     * Stops the run once this many plausible fixes are found. Mutation units are then run in descending
+     * order of suspiciousness, so that the fixes at the most suspicious locations are validated first.
+     * Units already running when the limit is reached are allowed to finish, and the fix report ranks
+     * the mutants run so far.
+     * By default, this is 0, i.e., all the mutants are run.
+     */
+    @Parameter(property = "maxPlausibleFixes", defaultValue = "0")
+    private int maxPlausibleFixes;
+
+    /**
+     * The number of seconds, since the start of mutation analysis, after which no more mutation units are
+     * started. Just like with maxPlausibleFixes, units are run in descending order of suspiciousness.
+     * By default, this is 0, i.e., there is no time limit.
+     */
+    @Parameter(property = "timeBudget", defaultValue = "0")
+    private long timeBudget;
+
+    /**
+     * Runs the mutation units in descending order of suspiciousness and reports their results as soon
+     * as they are available, rather than in the order the units are created.
+     * This is always the case when maxPlausibleFixes or timeBudget is set.
+     * The opt-in PLAUSIBLE-FIXES output format, which has to be listed in outputFormats along with the
+     * other formats, writes plausible fixes to plausible-fixes.log as soon as they are reported. It only
+     * streams them on this path; with stagedValidation, and with the default scheduling, results are
+     * reported once all the mutants are run.
+     * By default, this is false.
+     */
+    @Parameter(property = "suspOrderedScheduling", defaultValue = "false")
+    private boolean suspOrderedScheduling;
+
+    /**
+     * Generates all the mutants before running them, and runs only one of the mutants resulting in the
+     * same bytecode and covered by the same tests. The others get a copy of its result in the reports.
+     * This also implies suspOrderedScheduling.
+     * By default, this is false.
+     */
+    @Parameter(property = "dedupMutants", defaultValue = "false")
+    private boolean dedupMutants;
+
     /**
      * This constructor is called by Maven
      */
@@ -142,6 +219,14 @@ public class PraPRMojo extends AbstractPitMojo {
         data.addFailingTests(this.failingTests);
         data.setReorderTestCases(this.reorderTestCases);
         data.setVerboseReport(this.verboseReport);
+        data.setCacheDirectory(this.cacheDirectory);
+        data.setCoverageMinions(this.coverageMinions);
+        data.setFailingTestsFirst(this.failingTestsFirst);
+        data.setStagedValidation(this.stagedValidation);
+        data.setMaxPlausibleFixes(this.maxPlausibleFixes);
+        data.setTimeBudget(this.timeBudget);
+        data.setSuspOrderedScheduling(this.suspOrderedScheduling);
+        data.setDedupMutants(this.dedupMutants);
         data.setFailWhenNoMutations(false);
         return data;
     }
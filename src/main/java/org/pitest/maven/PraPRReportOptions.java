@@ -43,6 +43,22 @@ public class PraPRReportOptions extends ReportOptions {
 
     private boolean verboseReport;
 
+    private File cacheDirectory;
+
+    private int coverageMinions;
+
+    private boolean failingTestsFirst;
+
+    private boolean stagedValidation;
+
+    private int maxPlausibleFixes;
+
+    private long timeBudget;
+
+    private boolean suspOrderedScheduling;
+
+    private boolean dedupMutants;
+
     public PraPRReportOptions() {
         this.failingTests = new ArrayList<>();
     }
@@ -132,4 +148,68 @@ public class PraPRReportOptions extends ReportOptions {
     public void setVerboseReport(boolean verboseReport) {
         this.verboseReport = verboseReport;
     }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public int getCoverageMinions() {
+        return coverageMinions;
+    }
+
+    public void setCoverageMinions(int coverageMinions) {
+        this.coverageMinions = coverageMinions;
+    }
+
+    public boolean isFailingTestsFirst() {
+        return failingTestsFirst;
+    }
+
+    public void setFailingTestsFirst(boolean failingTestsFirst) {
+        this.failingTestsFirst = failingTestsFirst;
+    }
+
+    public boolean isStagedValidation() {
+        return stagedValidation;
+    }
+
+    public void setStagedValidation(boolean stagedValidation) {
+        this.stagedValidation = stagedValidation;
+    }
+
+    public int getMaxPlausibleFixes() {
+        return maxPlausibleFixes;
+    }
+
+    public void setMaxPlausibleFixes(int maxPlausibleFixes) {
+        this.maxPlausibleFixes = maxPlausibleFixes;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    public boolean isSuspOrderedScheduling() {
+        return suspOrderedScheduling;
+    }
+
+    public void setSuspOrderedScheduling(boolean suspOrderedScheduling) {
+        this.suspOrderedScheduling = suspOrderedScheduling;
+    }
+
+    public boolean isDedupMutants() {
+        return dedupMutants;
+    }
+
+    public void setDedupMutants(boolean dedupMutants) {
+        this.dedupMutants = dedupMutants;
+    }
 }
@@ -0,0 +1,87 @@
+package org.mudebug.prapr.core.analysis;
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.reloc.asm.ClassWriter;
+import org.pitest.reloc.asm.Opcodes;
+
+/**
+ * @author Ali Ghanbari
+ */
+public class GlobalInfoCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jarWithClass(final String internalName) throws IOException {
+        final ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        cw.visitEnd();
+        final File jar = this.folder.newFile("lib.jar");
+        try (final JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+            jos.putNextEntry(new JarEntry(internalName + ".class"));
+            jos.write(cw.toByteArray());
+            jos.closeEntry();
+        }
+        return jar;
+    }
+
+    private static int entriesCount(final GlobalInfoCache cache) {
+        final File[] entries = cache.getDirectory().listFiles();
+        return entries == null ? 0 : entries.length;
+    }
+
+    @org.junit.Test
+    public void testScannedJarIsReused() throws IOException {
+        final File jar = jarWithClass("com/example/Foo");
+        final GlobalInfoCache cache = new GlobalInfoCache(new File(this.folder.getRoot(), "cache"));
+        assertFalse(cache.fragmentFor(jar).isIncomplete());
+        assertEquals(1, entriesCount(cache));
+        final GlobalInfoFragment reused = cache.fragmentFor(jar);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(Collections.singletonList("com/example/Foo"), reused.classHierarchy.get("java/lang/Object"));
+    }
+
+    @org.junit.Test
+    public void testIncompleteScanIsNotCached() throws IOException {
+        final File jar = this.folder.newFile("broken.jar");
+        try (final FileOutputStream fos = new FileOutputStream(jar)) {
+            fos.write("not a jar file".getBytes("UTF-8"));
+        }
+        final GlobalInfoCache cache = new GlobalInfoCache(new File(this.folder.getRoot(), "cache"));
+        assertTrue(cache.fragmentFor(jar).isIncomplete());
+        assertEquals(0, entriesCount(cache));
+        assertTrue(cache.fragmentFor(jar).isIncomplete());
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -0,0 +1,75 @@
+package org.mudebug.prapr.core.commons;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+
+/**
+ * @author Ali Ghanbari
+ */
+public class TestRegistryTest {
+
+    private static TestInfo test(String name) {
+        return new TestInfo("com.example.Test", name, 0, Option.<ClassName>none(), 0);
+    }
+
+    @org.junit.Test
+    public void testContainsAllAndIntersects() {
+        final TestRegistry index = new TestRegistry(Arrays.asList("com.example.Test.t1",
+                "com.example.Test.t2"));
+        assertEquals(2, index.getFailingTestsCount());
+        assertTrue(index.containsAll(Arrays.asList(test("com.example.Test.t2(com.example.Test)"),
+                test("com.example.Test::t1"), test("com.example.Test.t3"))));
+        assertFalse(index.containsAll(Arrays.asList(test("com.example.Test.t1"), test("com.example.Test.t3"))));
+        assertTrue(index.intersects(Arrays.asList(test("com.example.Test.t3"), test("com.example.Test:t2"))));
+        assertFalse(index.intersects(Collections.singletonList(test("com.example.Test.t3"))));
+        assertEquals(-1, index.failingOrdinalOf(test("com.example.Test.t3")));
+    }
+
+    @org.junit.Test
+    public void testRegisterAndInferFailingTests() {
+        final TestRegistry registry = new TestRegistry(Collections.<String>emptyList());
+        final int id = registry.register("com.example.Test:t1(com.example.Test)");
+        assertEquals(id, registry.register("com.example.Test:t1(com.example.Test)"));
+        assertEquals("com.example.Test.t1", registry.getSanitizedName(id));
+        assertFalse(registry.isFailing(test("com.example.Test:t1(com.example.Test)")));
+        registry.addFailingTest(registry.getSanitizedName(id));
+        assertTrue(registry.isFailing(test("com.example.Test:t1(com.example.Test)")));
+        assertTrue(registry.isFailing(test("com.example.Test.t1")));
+        assertEquals(2, registry.size());
+        assertEquals(Collections.singletonList("com.example.Test.t1"), registry.getFailingTests());
+    }
+
+    @org.junit.Test
+    public void testNoFailingTests() {
+        final TestRegistry index = new TestRegistry(Collections.<String>emptyList());
+        assertTrue(index.containsAll(Collections.singletonList(test("com.example.Test.t1"))));
+        assertFalse(index.intersects(Collections.singletonList(test("com.example.Test.t1"))));
+    }
+}
@@ -0,0 +1,176 @@
+package org.mudebug.prapr.entry.coverage.execute;
+
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassFilter;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathRoot;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.PathFilter;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.predicate.Predicate;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.reloc.asm.ClassWriter;
+import org.pitest.reloc.asm.Opcodes;
+import org.pitest.testapi.Description;
+
+/**
+ * @author Ali Ghanbari
+ */
+public class CoverageCacheTest {
+    private static final List<String> TEST_CLASSES = Arrays.asList("com/example/FooTest", "com/example/BarTest");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File classes;
+
+    private File cache;
+
+    private static void write(final File file, final byte[] content) throws IOException {
+        file.getParentFile().mkdirs();
+        try (final FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(content);
+        }
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        write(file, content.getBytes("UTF-8"));
+    }
+
+    // the versions of a class differ in the name of their only field
+    private void writeClass(final String internalName, final String version) throws IOException {
+        final ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        cw.visitField(Opcodes.ACC_PUBLIC, version, "I", null, null).visitEnd();
+        cw.visitEnd();
+        write(new File(this.classes, internalName + ".class"), cw.toByteArray());
+    }
+
+    private static CodeSource codeSource(final File classes) {
+        final Predicate<String> isTest = new Predicate<String>() {
+            @Override
+            public Boolean apply(final String className) {
+                return className.endsWith("Test");
+            }
+        };
+        final Predicate<String> isCode = new Predicate<String>() {
+            @Override
+            public Boolean apply(final String className) {
+                return className.equals("com.example.Foo") || className.equals("com.example.Bar");
+            }
+        };
+        final Predicate<ClassPathRoot> anyRoot = new Predicate<ClassPathRoot>() {
+            @Override
+            public Boolean apply(final ClassPathRoot root) {
+                return true;
+            }
+        };
+        return new CodeSource(new ProjectClassPaths(new ClassPath(Collections.singletonList(classes)),
+                new ClassFilter(isTest, isCode), new PathFilter(anyRoot, anyRoot)));
+    }
+
+    // a result of a test that covers the first block of a method of the given class
+    private static CoverageResult result(final String testName, final String testClass, final String coveredClass) {
+        final Location location = new Location(ClassName.fromString(coveredClass), MethodName.fromString("run"), "()V");
+        return new CoverageResult(new Description(testName, testClass), 1, true,
+                Collections.singletonList(new BlockLocation(location, 0)));
+    }
+
+    // FooTest covers Foo, and BarTest covers Bar
+    private void populate() throws IOException {
+        this.classes = this.folder.newFolder("classes");
+        this.cache = new File(this.folder.getRoot(), "cache");
+        writeClass("com/example/Foo", "v1");
+        writeClass("com/example/Bar", "v1");
+        writeClass("com/example/FooTest", "v1");
+        writeClass("com/example/BarTest", "v1");
+        writeClass("com/example/TestHelper", "v1");
+        write(new File(this.classes, "fixture.txt"), "fixture");
+        final CoverageCache.Recorder recorder = new CoverageCache(this.cache, codeSource(this.classes), TEST_CLASSES)
+                .newRecorder();
+        recorder.record("com/example/FooTest", result("testFoo", "com.example.FooTest", "com/example/Foo"));
+        recorder.record("com/example/BarTest", result("testBar", "com.example.BarTest", "com/example/Bar"));
+        recorder.commit(TEST_CLASSES);
+    }
+
+    private Map<String, List<CoverageResult>> load() {
+        return new CoverageCache(this.cache, codeSource(this.classes), TEST_CLASSES).load(TEST_CLASSES);
+    }
+
+    @org.junit.Test
+    public void testUnchangedClassPathHits() throws IOException {
+        populate();
+        final Map<String, List<CoverageResult>> reused = load();
+        assertEquals(1, reused.get("com/example/FooTest").size());
+        assertEquals(1, reused.get("com/example/BarTest").size());
+    }
+
+    @org.junit.Test
+    public void testChangedHelperClassMisses() throws IOException {
+        populate();
+        writeClass("com/example/TestHelper", "v2");
+        assertTrue(load().isEmpty());
+    }
+
+    @org.junit.Test
+    public void testChangedResourceMisses() throws IOException {
+        populate();
+        write(new File(this.classes, "fixture.txt"), "changed fixture");
+        assertTrue(load().isEmpty());
+    }
+
+    @org.junit.Test
+    public void testChangedTestClassInvalidatesOnlyItsResults() throws IOException {
+        populate();
+        writeClass("com/example/FooTest", "v2");
+        final Map<String, List<CoverageResult>> reused = load();
+        assertFalse(reused.containsKey("com/example/FooTest"));
+        assertEquals(1, reused.get("com/example/BarTest").size());
+    }
+
+    @org.junit.Test
+    public void testChangedClassUnderTestInvalidatesOnlyCoveringTestClasses() throws IOException {
+        populate();
+        writeClass("com/example/Foo", "v2");
+        final Map<String, List<CoverageResult>> reused = load();
+        assertFalse(reused.containsKey("com/example/FooTest"));
+        assertEquals(1, reused.get("com/example/BarTest").size());
+        assertEquals("testBar", reused.get("com/example/BarTest").get(0).getTestUnitDescription().getName());
+    }
+}
@@ -0,0 +1,114 @@
+package org.mudebug.prapr.entry.mutationtest.execute;
+
+/*
+ * #%L
+ * prapr-plugin
+ * %%
+ * Copyright (C) 2018 - 2019 University of Texas at Dallas
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.mudebug.prapr.entry.mutationtest.build.PraPRMutationTestUnit;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * @author Ali Ghanbari
+ */
+public class BudgetedMutationAnalysisExecutorTest {
+    private static MutationDetails mutation(final int index) {
+        final Location location = new Location(ClassName.fromString("com/example/Foo"),
+                MethodName.fromString("run"), "()V");
+        return new MutationDetails(new MutationIdentifier(location, index, "MUTATOR"), "Foo.java", "mutation",
+                index, 0);
+    }
+
+    private static MutationAnalysisUnit unit(final MutationDetails details,
+                                             final DetectionStatus status,
+                                             final CountDownLatch latch) {
+        return new MutationAnalysisUnit() {
+            @Override
+            public MutationMetaData call() throws Exception {
+                latch.await();
+                return new MutationMetaData(Collections.singletonList(new MutationResult(details,
+                        new MutationStatusTestPair(1, status))));
+            }
+
+            @Override
+            public int priority() {
+                return 0;
+            }
+        };
+    }
+
+    @org.junit.Test
+    public void testMutationsOfSkippedUnitsAreReportedAsNotStarted() {
+        final RunBudget budget = new RunBudget(0, 1);
+        // keeps the only thread busy past the deadline, until the skipped unit is reported
+        final CountDownLatch skipped = new CountDownLatch(1);
+        final List<MutationResult> reported = Collections.synchronizedList(new ArrayList<MutationResult>());
+        final MutationResultListener listener = new MutationResultListener() {
+            @Override
+            public void runStart() {
+
+            }
+
+            @Override
+            public void handleMutationResult(final ClassMutationResults results) {
+                for (final MutationResult result : results.getMutations()) {
+                    reported.add(result);
+                    if (result.getStatus() == DetectionStatus.NOT_STARTED) {
+                        skipped.countDown();
+                    }
+                }
+            }
+
+            @Override
+            public void runEnd() {
+
+            }
+        };
+        final BudgetedMutationAnalysisExecutor executor =
+                new BudgetedMutationAnalysisExecutor(1, Collections.singletonList(listener), budget);
+        executor.run(Arrays.asList(unit(mutation(0), DetectionStatus.SURVIVED, skipped),
+                new PraPRMutationTestUnit(Arrays.asList(mutation(1), mutation(2)),
+                        Collections.<ClassName>emptyList(), null)));
+        assertEquals(1, executor.getSkippedUnits());
+        assertEquals(2, executor.getNotStartedMutations());
+        assertEquals(3, reported.size());
+        // the running unit is allowed to finish
+        assertEquals(DetectionStatus.SURVIVED, reported.get(2).getStatus());
+        assertEquals(DetectionStatus.NOT_STARTED, reported.get(0).getStatus());
+        assertEquals(DetectionStatus.NOT_STARTED, reported.get(1).getStatus());
+    }
+}